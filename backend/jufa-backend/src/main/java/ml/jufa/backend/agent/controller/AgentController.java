@@ -8,6 +8,7 @@ import ml.jufa.backend.agent.dto.*;
 import ml.jufa.backend.agent.entity.AgentTransactionType;
 import ml.jufa.backend.agent.service.AgentService;
 import ml.jufa.backend.common.dto.ApiResponse;
+import ml.jufa.backend.common.dto.CursorPage;
 import ml.jufa.backend.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -81,6 +82,16 @@ public class AgentController {
         return ResponseEntity.ok(ApiResponse.success(transactions));
     }
 
+    @GetMapping("/transactions/cursor")
+    @Operation(summary = "Historique des transactions (pagination par curseur)")
+    public ResponseEntity<ApiResponse<CursorPage<AgentTransactionResponse>>> getTransactionsByCursor(
+            @AuthenticationPrincipal User agent,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<AgentTransactionResponse> transactions = agentService.getTransactionHistory(agent, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(transactions));
+    }
+
     @GetMapping("/transactions/cash-in")
     @Operation(summary = "Historique des dépôts")
     public ResponseEntity<ApiResponse<Page<AgentTransactionResponse>>> getCashInTransactions(
@@ -34,7 +34,7 @@ public class ClientSearchResponse {
                 .phone(user.getPhone())
                 .name(name)
                 .walletNumber(wallet != null ? wallet.getId().toString() : null)
-                .balance(wallet != null ? wallet.getBalance() : BigDecimal.ZERO)
+                .balance(wallet != null ? wallet.getTotalBalance() : BigDecimal.ZERO)
                 .build();
     }
 }
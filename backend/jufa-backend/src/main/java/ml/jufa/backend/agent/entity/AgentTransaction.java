@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "agent_transactions", indexes = {
-    @Index(name = "idx_agent_tx_agent", columnList = "agent_id"),
+    @Index(name = "idx_agent_tx_agent_created", columnList = "agent_id, created_at DESC, id DESC"),
     @Index(name = "idx_agent_tx_customer", columnList = "customer_id"),
     @Index(name = "idx_agent_tx_reference", columnList = "reference"),
     @Index(name = "idx_agent_tx_status", columnList = "status"),
@@ -5,9 +5,14 @@ import ml.jufa.backend.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -28,4 +33,17 @@ public interface AgentCommissionRepository extends JpaRepository<AgentCommission
 
     @Query("SELECT SUM(c.amount) FROM AgentCommission c WHERE c.agent = :agent")
     BigDecimal sumTotalCommissionByAgent(User agent);
+
+    @Query("SELECT SUM(c.amount) FROM AgentCommission c WHERE c.agent = :agent AND c.commissionDate < :date")
+    BigDecimal sumCommissionByAgentBefore(@Param("agent") User agent, @Param("date") LocalDate date);
+
+    @Query("SELECT DISTINCT c.agent.id FROM AgentCommission c WHERE c.status = :status")
+    List<UUID> findAgentIdsByStatus(@Param("status") AgentCommission.CommissionStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM AgentCommission c WHERE c.agent.id = :agentId AND c.status = :status ORDER BY c.createdAt")
+    List<AgentCommission> findForSettlement(@Param("agentId") UUID agentId,
+                                            @Param("status") AgentCommission.CommissionStatus status,
+                                            Pageable pageable);
 }
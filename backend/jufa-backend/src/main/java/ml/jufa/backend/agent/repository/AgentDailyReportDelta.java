@@ -0,0 +1,36 @@
+package ml.jufa.backend.agent.repository;
+
+import ml.jufa.backend.agent.entity.AgentTransaction;
+import ml.jufa.backend.agent.entity.AgentTransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record AgentDailyReportDelta(
+        UUID agentId,
+        LocalDate reportDate,
+        int cashInCount,
+        BigDecimal cashInAmount,
+        int cashOutCount,
+        BigDecimal cashOutAmount,
+        BigDecimal commission,
+        BigDecimal fees) {
+
+    public static AgentDailyReportDelta of(AgentTransaction transaction, LocalDate reportDate) {
+        boolean cashIn = transaction.getTransactionType() == AgentTransactionType.CASH_IN;
+        return new AgentDailyReportDelta(
+                transaction.getAgent().getId(),
+                reportDate,
+                cashIn ? 1 : 0,
+                cashIn ? transaction.getAmount() : BigDecimal.ZERO,
+                cashIn ? 0 : 1,
+                cashIn ? BigDecimal.ZERO : transaction.getAmount(),
+                orZero(transaction.getAgentCommission()),
+                orZero(transaction.getFee()));
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -5,7 +5,9 @@ import ml.jufa.backend.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -14,7 +16,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface AgentDailyReportRepository extends JpaRepository<AgentDailyReport, UUID> {
+public interface AgentDailyReportRepository extends JpaRepository<AgentDailyReport, UUID>, AgentDailyReportUpsert {
 
     Optional<AgentDailyReport> findByAgentAndReportDate(User agent, LocalDate reportDate);
 
@@ -24,4 +26,8 @@ public interface AgentDailyReportRepository extends JpaRepository<AgentDailyRepo
 
     @Query("SELECT r FROM AgentDailyReport r WHERE r.agent = :agent ORDER BY r.reportDate DESC LIMIT 30")
     List<AgentDailyReport> findLast30DaysByAgent(User agent);
+
+    @Modifying
+    @Query("DELETE FROM AgentDailyReport r WHERE r.reportDate = :date")
+    int deleteByReportDate(@Param("date") LocalDate date);
 }
@@ -0,0 +1,8 @@
+package ml.jufa.backend.agent.repository;
+
+import java.util.Collection;
+
+public interface AgentDailyReportUpsert {
+
+    void upsert(Collection<AgentDailyReportDelta> deltas);
+}
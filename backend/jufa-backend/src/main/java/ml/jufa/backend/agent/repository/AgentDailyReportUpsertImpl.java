@@ -0,0 +1,90 @@
+package ml.jufa.backend.agent.repository;
+
+import ml.jufa.backend.common.id.TimeOrderedUuid;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public class AgentDailyReportUpsertImpl implements AgentDailyReportUpsert {
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO agent_daily_reports (id, agent_id, report_date, cash_in_count, cash_in_amount, " +
+            "cash_out_count, cash_out_amount, total_commission, total_fees, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (agent_id, report_date) DO UPDATE SET " +
+            "cash_in_count = agent_daily_reports.cash_in_count + EXCLUDED.cash_in_count, " +
+            "cash_in_amount = agent_daily_reports.cash_in_amount + EXCLUDED.cash_in_amount, " +
+            "cash_out_count = agent_daily_reports.cash_out_count + EXCLUDED.cash_out_count, " +
+            "cash_out_amount = agent_daily_reports.cash_out_amount + EXCLUDED.cash_out_amount, " +
+            "total_commission = agent_daily_reports.total_commission + EXCLUDED.total_commission, " +
+            "total_fees = agent_daily_reports.total_fees + EXCLUDED.total_fees, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String STANDARD_MERGE =
+            "MERGE INTO agent_daily_reports r USING (VALUES (CAST(? AS UUID), CAST(? AS UUID), CAST(? AS DATE), " +
+            "CAST(? AS INTEGER), CAST(? AS NUMERIC(18, 2)), CAST(? AS INTEGER), CAST(? AS NUMERIC(18, 2)), " +
+            "CAST(? AS NUMERIC(18, 2)), CAST(? AS NUMERIC(18, 2)), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))) " +
+            "AS d (id, agent_id, report_date, cash_in_count, cash_in_amount, cash_out_count, cash_out_amount, " +
+            "total_commission, total_fees, created_at, updated_at) " +
+            "ON r.agent_id = d.agent_id AND r.report_date = d.report_date " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "cash_in_count = r.cash_in_count + d.cash_in_count, " +
+            "cash_in_amount = r.cash_in_amount + d.cash_in_amount, " +
+            "cash_out_count = r.cash_out_count + d.cash_out_count, " +
+            "cash_out_amount = r.cash_out_amount + d.cash_out_amount, " +
+            "total_commission = r.total_commission + d.total_commission, " +
+            "total_fees = r.total_fees + d.total_fees, " +
+            "updated_at = d.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (id, agent_id, report_date, cash_in_count, cash_in_amount, " +
+            "cash_out_count, cash_out_amount, total_commission, total_fees, created_at, updated_at) " +
+            "VALUES (d.id, d.agent_id, d.report_date, d.cash_in_count, d.cash_in_amount, d.cash_out_count, " +
+            "d.cash_out_amount, d.total_commission, d.total_fees, d.created_at, d.updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsertSql;
+
+    public AgentDailyReportUpsertImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsert(Collection<AgentDailyReportDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = deltas.stream()
+                .map(delta -> new Object[] {
+                        TimeOrderedUuid.next(),
+                        delta.agentId(),
+                        delta.reportDate(),
+                        delta.cashInCount(),
+                        delta.cashInAmount(),
+                        delta.cashOutCount(),
+                        delta.cashOutAmount(),
+                        delta.commission(),
+                        delta.fees(),
+                        now,
+                        now
+                })
+                .toList();
+
+        jdbcTemplate.batchUpdate(upsertSql(), rows);
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            sql = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_UPSERT : STANDARD_MERGE;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+}
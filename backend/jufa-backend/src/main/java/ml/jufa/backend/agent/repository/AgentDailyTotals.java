@@ -0,0 +1,35 @@
+package ml.jufa.backend.agent.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record AgentDailyTotals(
+        UUID agentId,
+        Long cashInCount,
+        BigDecimal cashInAmount,
+        Long cashOutCount,
+        BigDecimal cashOutAmount,
+        BigDecimal commission,
+        BigDecimal fees) {
+
+    public AgentDailyReportDelta toDelta(LocalDate reportDate) {
+        return new AgentDailyReportDelta(
+                agentId,
+                reportDate,
+                Math.toIntExact(orZero(cashInCount)),
+                orZero(cashInAmount),
+                Math.toIntExact(orZero(cashOutCount)),
+                orZero(cashOutAmount),
+                orZero(commission),
+                orZero(fees));
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
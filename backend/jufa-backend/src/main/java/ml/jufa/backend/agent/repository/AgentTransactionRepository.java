@@ -6,12 +6,15 @@ import ml.jufa.backend.agent.entity.AgentTransactionType;
 import ml.jufa.backend.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,6 +25,13 @@ public interface AgentTransactionRepository extends JpaRepository<AgentTransacti
 
     Page<AgentTransaction> findByAgentOrderByCreatedAtDesc(User agent, Pageable pageable);
 
+    @Query("SELECT t FROM AgentTransaction t WHERE t.agent = :agent " +
+           "AND t.createdAt <= :createdAt AND (t.createdAt < :createdAt OR t.id < :id) ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<AgentTransaction> findByAgentBefore(@Param("agent") User agent,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") UUID id,
+                                              Pageable pageable);
+
     Page<AgentTransaction> findByAgentAndStatusOrderByCreatedAtDesc(User agent, AgentTransactionStatus status, Pageable pageable);
 
     Page<AgentTransaction> findByAgentAndTransactionTypeOrderByCreatedAtDesc(User agent, AgentTransactionType type, Pageable pageable);
@@ -39,4 +49,14 @@ public interface AgentTransactionRepository extends JpaRepository<AgentTransacti
 
     @Query("SELECT SUM(t.agentCommission) FROM AgentTransaction t WHERE t.agent = :agent AND t.status = 'COMPLETED' AND t.createdAt >= :startDate")
     BigDecimal sumCommissionByAgentAfter(User agent, LocalDateTime startDate);
+
+    @Query("SELECT new ml.jufa.backend.agent.repository.AgentDailyTotals(t.agent.id, " +
+           "SUM(CASE WHEN t.transactionType = 'CASH_IN' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.transactionType = 'CASH_IN' THEN t.amount END), " +
+           "SUM(CASE WHEN t.transactionType <> 'CASH_IN' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.transactionType <> 'CASH_IN' THEN t.amount END), " +
+           "SUM(t.agentCommission), SUM(t.fee)) " +
+           "FROM AgentTransaction t WHERE t.status = 'COMPLETED' AND t.completedAt >= :start AND t.completedAt < :end " +
+           "GROUP BY t.agent.id")
+    List<AgentDailyTotals> sumCompletedByAgentBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
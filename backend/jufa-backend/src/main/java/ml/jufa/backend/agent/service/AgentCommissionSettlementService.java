@@ -0,0 +1,116 @@
+package ml.jufa.backend.agent.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.agent.entity.AgentCommission;
+import ml.jufa.backend.agent.repository.AgentCommissionRepository;
+import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.ledger.entity.LedgerAccount;
+import ml.jufa.backend.ledger.entity.LedgerEntryType;
+import ml.jufa.backend.ledger.service.LedgerMovement;
+import ml.jufa.backend.ledger.service.LedgerService;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.user.repository.UserRepository;
+import ml.jufa.backend.wallet.entity.Wallet;
+import ml.jufa.backend.wallet.entity.WalletType;
+import ml.jufa.backend.wallet.repository.WalletRepository;
+import ml.jufa.backend.wallet.service.WalletShardService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class AgentCommissionSettlementService {
+
+    private final AgentCommissionRepository commissionRepository;
+    private final UserRepository userRepository;
+    private final WalletRepository walletRepository;
+    private final LedgerService ledgerService;
+    private final WalletShardService walletShardService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public AgentCommissionSettlementService(
+            AgentCommissionRepository commissionRepository,
+            UserRepository userRepository,
+            WalletRepository walletRepository,
+            LedgerService ledgerService,
+            WalletShardService walletShardService,
+            PlatformTransactionManager transactionManager,
+            @Value("${jufa.agent.commission.settlement-batch-size:500}") int batchSize) {
+        this.commissionRepository = commissionRepository;
+        this.userRepository = userRepository;
+        this.walletRepository = walletRepository;
+        this.ledgerService = ledgerService;
+        this.walletShardService = walletShardService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${jufa.agent.commission.settlement-interval-ms:60000}",
+               initialDelayString = "${jufa.agent.commission.settlement-interval-ms:60000}")
+    public void settlePendingCommissions() {
+        List<UUID> agentIds = commissionRepository.findAgentIdsByStatus(AgentCommission.CommissionStatus.PENDING);
+
+        for (UUID agentId : agentIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> settleAgent(agentId));
+            } catch (Exception e) {
+                log.error("Commission settlement failed for agent {}: {}", agentId, e.getMessage());
+            }
+        }
+    }
+
+    public int settleAgent(UUID agentId) {
+        List<AgentCommission> pending = commissionRepository.findForSettlement(
+                agentId, AgentCommission.CommissionStatus.PENDING, PageRequest.of(0, batchSize));
+
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        BigDecimal total = pending.stream()
+                .map(AgentCommission::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Wallet commissionWallet = getOrCreateCommissionWallet(agentId);
+        ledgerService.post(LedgerMovement.accountToWallet(LedgerEntryType.COMMISSION,
+                LedgerAccount.COMMISSION_EXPENSE, commissionWallet.getId(), total, null));
+
+        pending.forEach(AgentCommission::credit);
+        commissionRepository.saveAll(pending);
+
+        log.info("Settled {} commissions ({} XOF) for agent {}", pending.size(), total, agentId);
+        return pending.size();
+    }
+
+    private Wallet getOrCreateCommissionWallet(UUID agentId) {
+        User agent = userRepository.getReferenceById(agentId);
+        return walletRepository.findByUserAndWalletType(agent, WalletType.COMMISSION)
+                .orElseGet(() -> {
+                    User locked = userRepository.findWithLockById(agentId)
+                            .orElseThrow(() -> new JufaException("JUFA-USER-001", "User not found"));
+                    return walletRepository.findByUserAndWalletType(locked, WalletType.COMMISSION)
+                            .orElseGet(() -> createCommissionWallet(locked));
+                });
+    }
+
+    private Wallet createCommissionWallet(User agent) {
+        Wallet wallet = Wallet.builder()
+                .user(agent)
+                .walletType(WalletType.COMMISSION)
+                .currency("XOF")
+                .shardCount(walletShardService.shardCountFor(WalletType.COMMISSION))
+                .build();
+        Wallet saved = walletRepository.save(wallet);
+        walletShardService.createShards(saved);
+        return saved;
+    }
+}
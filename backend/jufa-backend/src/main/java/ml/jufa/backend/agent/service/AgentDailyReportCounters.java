@@ -0,0 +1,89 @@
+package ml.jufa.backend.agent.service;
+
+import ml.jufa.backend.agent.entity.AgentTransaction;
+import ml.jufa.backend.agent.repository.AgentDailyReportDelta;
+import ml.jufa.backend.agent.repository.AgentDailyReportRepository;
+import ml.jufa.backend.common.buffer.CounterBuffer;
+import ml.jufa.backend.common.buffer.CounterBufferManager;
+import ml.jufa.backend.common.buffer.CounterKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class AgentDailyReportCounters {
+
+    private static final int MINOR_UNIT_SCALE = 2;
+
+    private final AgentDailyReportRepository reportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CounterBuffer buffer;
+
+    public AgentDailyReportCounters(
+            AgentDailyReportRepository reportRepository,
+            PlatformTransactionManager transactionManager,
+            CounterBufferManager bufferManager) {
+        this.reportRepository = reportRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buffer = bufferManager.register("agent-daily-report", 6, this::flush);
+    }
+
+    public void record(AgentTransaction transaction) {
+        AgentDailyReportDelta delta = AgentDailyReportDelta.of(transaction, LocalDate.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(delta);
+                }
+            });
+        } else {
+            add(delta);
+        }
+    }
+
+    private void add(AgentDailyReportDelta delta) {
+        buffer.add(new CounterKey(delta.agentId(), delta.reportDate()),
+                delta.cashInCount(),
+                toMinorUnits(delta.cashInAmount()),
+                delta.cashOutCount(),
+                toMinorUnits(delta.cashOutAmount()),
+                toMinorUnits(delta.commission()),
+                toMinorUnits(delta.fees()));
+    }
+
+    private void flush(Map<CounterKey, long[]> batch) {
+        List<AgentDailyReportDelta> deltas = batch.entrySet().stream()
+                .map(entry -> {
+                    long[] values = entry.getValue();
+                    return new AgentDailyReportDelta(
+                            entry.getKey().entityId(),
+                            entry.getKey().date(),
+                            Math.toIntExact(values[0]),
+                            fromMinorUnits(values[1]),
+                            Math.toIntExact(values[2]),
+                            fromMinorUnits(values[3]),
+                            fromMinorUnits(values[4]),
+                            fromMinorUnits(values[5]));
+                })
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> reportRepository.upsert(deltas));
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromMinorUnits(long value) {
+        return BigDecimal.valueOf(value, MINOR_UNIT_SCALE);
+    }
+}
@@ -0,0 +1,69 @@
+package ml.jufa.backend.agent.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.agent.repository.AgentDailyReportDelta;
+import ml.jufa.backend.agent.repository.AgentDailyReportRepository;
+import ml.jufa.backend.agent.repository.AgentDailyTotals;
+import ml.jufa.backend.agent.repository.AgentTransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Slf4j
+public class AgentDailyReportRebuilder {
+
+    private final AgentTransactionRepository transactionRepository;
+    private final AgentDailyReportRepository reportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildDays;
+
+    public AgentDailyReportRebuilder(
+            AgentTransactionRepository transactionRepository,
+            AgentDailyReportRepository reportRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${jufa.agent.reports.rebuild-days:2}") int rebuildDays) {
+        this.transactionRepository = transactionRepository;
+        this.reportRepository = reportRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildDays = rebuildDays;
+    }
+
+    @Scheduled(cron = "${jufa.agent.reports.rebuild-cron:0 15 0 * * *}")
+    public void rebuildClosedDays() {
+        LocalDate today = LocalDate.now();
+        for (int daysAgo = rebuildDays; daysAgo >= 1; daysAgo--) {
+            LocalDate date = today.minusDays(daysAgo);
+            try {
+                rebuild(date);
+            } catch (Exception e) {
+                log.error("Daily report rebuild failed for {}: {}", date, e.getMessage());
+            }
+        }
+    }
+
+    public int rebuild(LocalDate date) {
+        if (!date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Only closed days can be rebuilt");
+        }
+
+        Integer rebuilt = transactionTemplate.execute(status -> {
+            List<AgentDailyReportDelta> deltas = transactionRepository
+                    .sumCompletedByAgentBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                    .stream()
+                    .map(totals -> totals.toDelta(date))
+                    .toList();
+            reportRepository.deleteByReportDate(date);
+            reportRepository.upsert(deltas);
+            return deltas.size();
+        });
+
+        log.info("Rebuilt {} agent daily report(s) for {}", rebuilt, date);
+        return rebuilt != null ? rebuilt : 0;
+    }
+}
@@ -0,0 +1,110 @@
+package ml.jufa.backend.agent.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ml.jufa.backend.agent.entity.AgentDailyReport;
+import ml.jufa.backend.agent.repository.AgentCommissionRepository;
+import ml.jufa.backend.agent.repository.AgentDailyReportRepository;
+import ml.jufa.backend.user.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class AgentDashboardAggregator {
+
+    private static final int WEEK_DAYS = 7;
+
+    private final AgentDailyReportRepository reportRepository;
+    private final AgentCommissionRepository commissionRepository;
+    private final Cache<UUID, ClosedDays> closedDays;
+
+    public AgentDashboardAggregator(
+            AgentDailyReportRepository reportRepository,
+            AgentCommissionRepository commissionRepository,
+            @Value("${jufa.agent.dashboard.cache-size:10000}") long cacheSize,
+            @Value("${jufa.agent.dashboard.closed-days-ttl-minutes:60}") long closedDaysTtlMinutes) {
+        this.reportRepository = reportRepository;
+        this.commissionRepository = commissionRepository;
+        this.closedDays = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(closedDaysTtlMinutes))
+                .build();
+    }
+
+    public Activity activity(User agent) {
+        LocalDate today = LocalDate.now();
+
+        ClosedDays past = closedDays.getIfPresent(agent.getId());
+        if (past == null || !past.asOf().equals(today)) {
+            past = loadClosedDays(agent, today);
+            closedDays.put(agent.getId(), past);
+        }
+
+        Totals todayTotals = reportRepository.findByAgentAndReportDate(agent, today)
+                .map(Totals::of)
+                .orElse(Totals.EMPTY);
+
+        return new Activity(
+                todayTotals,
+                past.week().plus(todayTotals),
+                past.month().plus(todayTotals),
+                past.totalCommission().add(todayTotals.commission()));
+    }
+
+    private ClosedDays loadClosedDays(User agent, LocalDate today) {
+        LocalDate weekStart = today.minusDays(WEEK_DAYS);
+        LocalDate monthStart = today.withDayOfMonth(1);
+        LocalDate windowStart = weekStart.isBefore(monthStart) ? weekStart : monthStart;
+
+        List<AgentDailyReport> reports = reportRepository.findByAgentAndReportDateBetweenOrderByReportDateDesc(
+                agent, windowStart, today.minusDays(1));
+
+        Totals week = Totals.EMPTY;
+        Totals month = Totals.EMPTY;
+        for (AgentDailyReport report : reports) {
+            Totals day = Totals.of(report);
+            if (!report.getReportDate().isBefore(weekStart)) {
+                week = week.plus(day);
+            }
+            if (!report.getReportDate().isBefore(monthStart)) {
+                month = month.plus(day);
+            }
+        }
+
+        BigDecimal totalCommission = commissionRepository.sumCommissionByAgentBefore(agent, today);
+        return new ClosedDays(today, week, month, totalCommission != null ? totalCommission : BigDecimal.ZERO);
+    }
+
+    public record Activity(Totals today, Totals week, Totals month, BigDecimal totalCommission) {
+    }
+
+    public record Totals(int transactions, BigDecimal deposits, BigDecimal withdrawals, BigDecimal commission) {
+
+        public static final Totals EMPTY = new Totals(0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        static Totals of(AgentDailyReport report) {
+            return new Totals(report.getTotalTransactions(), report.getCashInAmount(),
+                    report.getCashOutAmount(), report.getTotalCommission());
+        }
+
+        public BigDecimal volume() {
+            return deposits.add(withdrawals);
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(transactions + other.transactions,
+                    deposits.add(other.deposits),
+                    withdrawals.add(other.withdrawals),
+                    commission.add(other.commission));
+        }
+    }
+
+    private record ClosedDays(LocalDate asOf, Totals week, Totals month, BigDecimal totalCommission) {
+    }
+}
@@ -5,8 +5,16 @@ import lombok.extern.slf4j.Slf4j;
 import ml.jufa.backend.agent.dto.*;
 import ml.jufa.backend.agent.entity.*;
 import ml.jufa.backend.agent.repository.*;
+import ml.jufa.backend.common.dto.Cursor;
+import ml.jufa.backend.common.dto.CursorPage;
 import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.common.util.ReferenceGenerator;
+import ml.jufa.backend.ledger.entity.LedgerAccount;
+import ml.jufa.backend.ledger.entity.LedgerEntryType;
+import ml.jufa.backend.ledger.service.LedgerMovement;
+import ml.jufa.backend.ledger.service.LedgerService;
 import ml.jufa.backend.notification.service.PushNotificationService;
+import ml.jufa.backend.security.ratelimit.CredentialRateLimiter;
 import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.user.entity.UserType;
 import ml.jufa.backend.user.repository.UserRepository;
@@ -14,6 +22,7 @@ import ml.jufa.backend.wallet.entity.Wallet;
 import ml.jufa.backend.wallet.entity.WalletType;
 import ml.jufa.backend.wallet.repository.WalletRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -22,7 +31,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.UUID;
@@ -36,10 +44,15 @@ public class AgentService {
     private final AgentCommissionRepository commissionRepository;
     private final AgentDailyReportRepository reportRepository;
     private final AgentProfileRepository agentProfileRepository;
+    private final AgentDashboardAggregator dashboardAggregator;
+    private final AgentDailyReportCounters dailyReportCounters;
     private final UserRepository userRepository;
     private final WalletRepository walletRepository;
+    private final LedgerService ledgerService;
     private final PushNotificationService pushNotificationService;
     private final PasswordEncoder passwordEncoder;
+    private final CredentialRateLimiter credentialRateLimiter;
+    private final ReferenceGenerator referenceGenerator;
 
     private static final BigDecimal CASH_IN_FEE_PERCENT = new BigDecimal("0.01");
     private static final BigDecimal CASH_OUT_FEE_PERCENT = new BigDecimal("0.015");
@@ -62,7 +75,7 @@ public class AgentService {
         BigDecimal platformFee = fee.subtract(agentCommission);
 
         AgentTransaction transaction = AgentTransaction.builder()
-                .reference(generateReference("CI"))
+                .reference(referenceGenerator.next("CI"))
                 .agent(agent)
                 .customer(customer)
                 .transactionType(AgentTransactionType.CASH_IN)
@@ -77,19 +90,16 @@ public class AgentService {
         transactionRepository.save(transaction);
 
         Wallet customerWallet = getCustomerWallet(customer);
-        Wallet lockedWallet = walletRepository.findWithLockById(customerWallet.getId())
-                .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet client non trouvé"));
-
         BigDecimal netAmount = request.getAmount().subtract(fee);
-        lockedWallet.credit(netAmount);
-        walletRepository.save(lockedWallet);
+        ledgerService.post(LedgerMovement.accountToWallet(LedgerEntryType.CASH_IN, LedgerAccount.AGENT_CASH,
+                customerWallet.getId(), netAmount, transaction.getReference()));
 
-        creditAgentCommission(agent, transaction, agentCommission);
+        recordAgentCommission(agent, transaction, agentCommission);
 
         transaction.complete();
         transactionRepository.save(transaction);
 
-        updateDailyReport(agent, transaction);
+        updateDailyReport(transaction);
 
         pushNotificationService.sendTransactionReceived(customer, netAmount, "Agent", transaction.getReference());
 
@@ -107,9 +117,13 @@ public class AgentService {
         User customer = userRepository.findByPhone(request.getCustomerPhone())
                 .orElseThrow(() -> new JufaException("JUFA-AGENT-002", "Client non trouvé"));
 
+        credentialRateLimiter.check(customer.getPhone());
         if (!passwordEncoder.matches(request.getCustomerPin(), customer.getPinHash())) {
             throw new JufaException("JUFA-AGENT-003", "PIN incorrect");
         }
+        if (passwordEncoder.upgradeEncoding(customer.getPinHash())) {
+            customer.setPinHash(passwordEncoder.encode(request.getCustomerPin()));
+        }
 
         Wallet agentWallet = getAgentWallet(agent);
         BigDecimal fee = calculateCashOutFee(request.getAmount());
@@ -117,17 +131,17 @@ public class AgentService {
         BigDecimal platformFee = fee.subtract(agentCommission);
         BigDecimal totalDebit = request.getAmount().add(fee);
 
-        if (agentWallet.getAvailableBalance().compareTo(request.getAmount()) < 0) {
+        if (agentWallet.getTotalAvailableBalance().compareTo(request.getAmount()) < 0) {
             throw new JufaException("JUFA-AGENT-004", "Solde agent insuffisant pour ce retrait");
         }
 
         Wallet customerWallet = getCustomerWallet(customer);
-        if (customerWallet.getAvailableBalance().compareTo(totalDebit) < 0) {
+        if (customerWallet.getTotalAvailableBalance().compareTo(totalDebit) < 0) {
             throw new JufaException("JUFA-AGENT-005", "Solde client insuffisant");
         }
 
         AgentTransaction transaction = AgentTransaction.builder()
-                .reference(generateReference("CO"))
+                .reference(referenceGenerator.next("CO"))
                 .agent(agent)
                 .customer(customer)
                 .transactionType(AgentTransactionType.CASH_OUT)
@@ -141,17 +155,18 @@ public class AgentService {
 
         transactionRepository.save(transaction);
 
-        Wallet lockedCustomerWallet = walletRepository.findWithLockById(customerWallet.getId())
-                .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet client non trouvé"));
-        lockedCustomerWallet.debit(totalDebit);
-        walletRepository.save(lockedCustomerWallet);
+        ledgerService.post(List.of(
+                LedgerMovement.walletToAccount(LedgerEntryType.CASH_OUT, customerWallet.getId(),
+                        LedgerAccount.AGENT_CASH, request.getAmount(), transaction.getReference()),
+                LedgerMovement.walletToAccount(LedgerEntryType.FEE, customerWallet.getId(),
+                        LedgerAccount.FEE_REVENUE, fee, transaction.getReference())));
 
-        creditAgentCommission(agent, transaction, agentCommission);
+        recordAgentCommission(agent, transaction, agentCommission);
 
         transaction.complete();
         transactionRepository.save(transaction);
 
-        updateDailyReport(agent, transaction);
+        updateDailyReport(transaction);
 
         pushNotificationService.sendTransactionSent(customer, request.getAmount(), "Agent", transaction.getReference());
 
@@ -191,59 +206,26 @@ public class AgentService {
         Wallet agentWallet = getAgentWallet(agent);
         Wallet commissionWallet = getCommissionWallet(agent);
 
-        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-        LocalDateTime weekStart = LocalDate.now().minusDays(7).atStartOfDay();
-        LocalDateTime monthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-
-        BigDecimal todayCashIn = transactionRepository.sumAmountByAgentAndTypeAndDateAfter(
-                agent, AgentTransactionType.CASH_IN, todayStart);
-        BigDecimal todayCashOut = transactionRepository.sumAmountByAgentAndTypeAndDateAfter(
-                agent, AgentTransactionType.CASH_OUT, todayStart);
-        BigDecimal todayVolume = (todayCashIn != null ? todayCashIn : BigDecimal.ZERO)
-                .add(todayCashOut != null ? todayCashOut : BigDecimal.ZERO);
-
-        long todayTx = transactionRepository.countCompletedByAgentAfter(agent, todayStart);
-        long weekTx = transactionRepository.countCompletedByAgentAfter(agent, weekStart);
-        long monthTx = transactionRepository.countCompletedByAgentAfter(agent, monthStart);
-
-        BigDecimal todayCommission = transactionRepository.sumCommissionByAgentAfter(agent, todayStart);
-        BigDecimal weekCommission = transactionRepository.sumCommissionByAgentAfter(agent, weekStart);
-        BigDecimal monthCommission = transactionRepository.sumCommissionByAgentAfter(agent, monthStart);
-
-        BigDecimal weekCashIn = transactionRepository.sumAmountByAgentAndTypeAndDateAfter(
-                agent, AgentTransactionType.CASH_IN, weekStart);
-        BigDecimal weekCashOut = transactionRepository.sumAmountByAgentAndTypeAndDateAfter(
-                agent, AgentTransactionType.CASH_OUT, weekStart);
-        BigDecimal weekVolume = (weekCashIn != null ? weekCashIn : BigDecimal.ZERO)
-                .add(weekCashOut != null ? weekCashOut : BigDecimal.ZERO);
-
-        BigDecimal monthCashIn = transactionRepository.sumAmountByAgentAndTypeAndDateAfter(
-                agent, AgentTransactionType.CASH_IN, monthStart);
-        BigDecimal monthCashOut = transactionRepository.sumAmountByAgentAndTypeAndDateAfter(
-                agent, AgentTransactionType.CASH_OUT, monthStart);
-        BigDecimal monthVolume = (monthCashIn != null ? monthCashIn : BigDecimal.ZERO)
-                .add(monthCashOut != null ? monthCashOut : BigDecimal.ZERO);
-
-        BigDecimal totalCommission = commissionRepository.sumTotalCommissionByAgent(agent);
+        AgentDashboardAggregator.Activity activity = dashboardAggregator.activity(agent);
         long pendingTx = transactionRepository.countByAgentAndStatus(agent, AgentTransactionStatus.PENDING);
 
         AgentProfile agentProfile = getOrCreateAgentProfile(agent);
 
         return AgentDashboardResponse.builder()
-                .walletBalance(agentWallet.getBalance())
-                .commissionBalance(commissionWallet != null ? commissionWallet.getBalance() : BigDecimal.ZERO)
-                .todayVolume(todayVolume)
-                .todayTransactions((int) todayTx)
-                .todayCommission(todayCommission != null ? todayCommission : BigDecimal.ZERO)
-                .todayDeposits(todayCashIn != null ? todayCashIn : BigDecimal.ZERO)
-                .todayWithdrawals(todayCashOut != null ? todayCashOut : BigDecimal.ZERO)
-                .weekVolume(weekVolume)
-                .weekTransactions((int) weekTx)
-                .weekCommission(weekCommission != null ? weekCommission : BigDecimal.ZERO)
-                .monthVolume(monthVolume)
-                .monthTransactions((int) monthTx)
-                .monthCommission(monthCommission != null ? monthCommission : BigDecimal.ZERO)
-                .totalCommissionEarned(totalCommission != null ? totalCommission : BigDecimal.ZERO)
+                .walletBalance(agentWallet.getTotalBalance())
+                .commissionBalance(commissionWallet != null ? commissionWallet.getTotalBalance() : BigDecimal.ZERO)
+                .todayVolume(activity.today().volume())
+                .todayTransactions(activity.today().transactions())
+                .todayCommission(activity.today().commission())
+                .todayDeposits(activity.today().deposits())
+                .todayWithdrawals(activity.today().withdrawals())
+                .weekVolume(activity.week().volume())
+                .weekTransactions(activity.week().transactions())
+                .weekCommission(activity.week().commission())
+                .monthVolume(activity.month().volume())
+                .monthTransactions(activity.month().transactions())
+                .monthCommission(activity.month().commission())
+                .totalCommissionEarned(activity.totalCommission())
                 .pendingTransactions((int) pendingTx)
                 .depositCommissionRate(agentProfile.getDepositCommissionRate())
                 .withdrawalCommissionRate(agentProfile.getWithdrawalCommissionRate())
@@ -259,6 +241,15 @@ public class AgentService {
                 .map(AgentTransactionResponse::fromEntity);
     }
 
+    public CursorPage<AgentTransactionResponse> getTransactionHistory(User agent, String cursor, int size) {
+        validateAgent(agent);
+        Cursor position = Cursor.decode(cursor);
+        return CursorPage.from(
+                transactionRepository.findByAgentBefore(agent, position.createdAt(), position.id(),
+                        PageRequest.of(0, Cursor.clampSize(size))),
+                AgentTransactionResponse::fromEntity);
+    }
+
     public Page<AgentTransactionResponse> getTransactionsByType(User agent, AgentTransactionType type, Pageable pageable) {
         validateAgent(agent);
         return transactionRepository.findByAgentAndTransactionTypeOrderByCreatedAtDesc(agent, type, pageable)
@@ -337,16 +328,7 @@ public class AgentService {
                 .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet client non trouvé"));
     }
 
-    private void creditAgentCommission(User agent, AgentTransaction transaction, BigDecimal commission) {
-        Wallet commissionWallet = walletRepository.findByUserAndWalletType(agent, WalletType.COMMISSION)
-                .orElseGet(() -> createCommissionWallet(agent));
-
-        Wallet lockedCommissionWallet = walletRepository.findWithLockById(commissionWallet.getId())
-                .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet commission non trouvé"));
-
-        lockedCommissionWallet.credit(commission);
-        walletRepository.save(lockedCommissionWallet);
-
+    private void recordAgentCommission(User agent, AgentTransaction transaction, BigDecimal commission) {
         AgentCommission agentCommission = AgentCommission.builder()
                 .agent(agent)
                 .transaction(transaction)
@@ -355,38 +337,11 @@ public class AgentService {
                 .commissionRate(AGENT_COMMISSION_RATE.multiply(new BigDecimal("100")))
                 .description("Commission sur " + transaction.getTransactionType().getDisplayName())
                 .build();
-        agentCommission.credit();
         commissionRepository.save(agentCommission);
     }
 
-    private Wallet createCommissionWallet(User agent) {
-        Wallet wallet = Wallet.builder()
-                .user(agent)
-                .walletType(WalletType.COMMISSION)
-                .currency("XOF")
-                .build();
-        return walletRepository.save(wallet);
-    }
-
-    private void updateDailyReport(User agent, AgentTransaction transaction) {
-        LocalDate today = LocalDate.now();
-        AgentDailyReport report = reportRepository.findByAgentAndReportDate(agent, today)
-                .orElseGet(() -> AgentDailyReport.builder()
-                        .agent(agent)
-                        .reportDate(today)
-                        .build());
-
-        if (transaction.getTransactionType() == AgentTransactionType.CASH_IN) {
-            report.addCashIn(transaction.getAmount(), transaction.getAgentCommission(), transaction.getFee());
-        } else {
-            report.addCashOut(transaction.getAmount(), transaction.getAgentCommission(), transaction.getFee());
-        }
-
-        reportRepository.save(report);
-    }
-
-    private String generateReference(String prefix) {
-        return prefix + System.currentTimeMillis() + String.format("%04d", (int) (Math.random() * 10000));
+    private void updateDailyReport(AgentTransaction transaction) {
+        dailyReportCounters.record(transaction);
     }
 
     public AgentProfileResponse getProfile(User agent) {
@@ -404,7 +359,13 @@ public class AgentService {
             throw new JufaException("JUFA-AGENT-011", "Code secret non configuré");
         }
 
-        return passwordEncoder.matches(secretCode, profile.getSecretCodeHash());
+        credentialRateLimiter.check(agent.getPhone());
+        boolean valid = passwordEncoder.matches(secretCode, profile.getSecretCodeHash());
+        if (valid && passwordEncoder.upgradeEncoding(profile.getSecretCodeHash())) {
+            profile.setSecretCodeHash(passwordEncoder.encode(secretCode));
+            agentProfileRepository.save(profile);
+        }
+        return valid;
     }
 
     @Transactional
@@ -6,6 +6,7 @@ import ml.jufa.backend.auth.dto.*;
 import ml.jufa.backend.auth.service.AuthService;
 import ml.jufa.backend.common.dto.ApiResponse;
 import ml.jufa.backend.user.entity.User;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -53,7 +54,10 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<Void>> logout(@AuthenticationPrincipal User user) {
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @Valid @RequestBody LogoutRequest request) {
+        authService.logout(authorization.startsWith("Bearer ") ? authorization.substring(7) : authorization, request);
         return ResponseEntity.ok(ApiResponse.success(null, "Logged out successfully"));
     }
 }
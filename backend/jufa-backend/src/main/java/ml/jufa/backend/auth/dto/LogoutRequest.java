@@ -0,0 +1,11 @@
+package ml.jufa.backend.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class LogoutRequest {
+    
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
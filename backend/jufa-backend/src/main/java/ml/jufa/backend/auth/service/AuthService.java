@@ -1,13 +1,19 @@
 package ml.jufa.backend.auth.service;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ml.jufa.backend.auth.dto.*;
+import ml.jufa.backend.auth.store.TokenCheck;
 import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.common.exception.TooManyRequestsException;
 import ml.jufa.backend.merchant.entity.MerchantProfile;
 import ml.jufa.backend.merchant.entity.MerchantType;
 import ml.jufa.backend.merchant.repository.MerchantProfileRepository;
 import ml.jufa.backend.security.jwt.JwtTokenProvider;
+import ml.jufa.backend.security.principal.UserPrincipalCache;
+import ml.jufa.backend.security.ratelimit.CredentialRateLimiter;
+import ml.jufa.backend.security.revocation.TokenRevocationService;
 import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.user.entity.UserStatus;
 import ml.jufa.backend.user.entity.UserType;
@@ -15,6 +21,7 @@ import ml.jufa.backend.user.repository.UserRepository;
 import ml.jufa.backend.wallet.entity.Wallet;
 import ml.jufa.backend.wallet.entity.WalletType;
 import ml.jufa.backend.wallet.repository.WalletRepository;
+import ml.jufa.backend.wallet.service.WalletShardService;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -24,7 +31,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.security.SecureRandom;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -33,13 +39,16 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final WalletRepository walletRepository;
+    private final WalletShardService walletShardService;
     private final MerchantProfileRepository merchantProfileRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final CredentialRateLimiter credentialRateLimiter;
+    private final AuthTokenService authTokenService;
     private final AuthenticationManager authenticationManager;
     
-    private final Map<UUID, String> otpStorage = new ConcurrentHashMap<>();
-    private final Map<UUID, String> pinTokenStorage = new ConcurrentHashMap<>();
 
     @Transactional
     public Map<String, Object> register(RegisterRequest request) {
@@ -57,7 +66,7 @@ public class AuthService {
         user = userRepository.save(user);
 
         String otp = generateOtp();
-        otpStorage.put(user.getId(), otp);
+        authTokenService.storeOtp(user.getId(), otp);
         
         log.info("OTP for user {}: {}", user.getPhone(), otp);
 
@@ -70,9 +79,12 @@ public class AuthService {
 
     @Transactional
     public AuthResponse verifyOtp(VerifyOtpRequest request) {
-        String storedOtp = otpStorage.get(request.getUserId());
-        
-        if (storedOtp == null || !storedOtp.equals(request.getOtp())) {
+        TokenCheck otpCheck = authTokenService.checkOtp(request.getUserId(), request.getOtp());
+
+        if (otpCheck == TokenCheck.LOCKED) {
+            throw new TooManyRequestsException("JUFA-AUTH-010", "Too many invalid OTP attempts, request a new code");
+        }
+        if (otpCheck != TokenCheck.MATCH) {
             throw new JufaException("JUFA-AUTH-002", "Invalid or expired OTP");
         }
 
@@ -81,6 +93,7 @@ public class AuthService {
 
         user.setStatus(UserStatus.ACTIVE);
         userRepository.save(user);
+        userPrincipalCache.evict(user.getId());
 
         createDefaultWallet(user);
 
@@ -88,12 +101,13 @@ public class AuthService {
             createMerchantProfile(user);
         }
 
-        otpStorage.remove(request.getUserId());
+        authTokenService.consumeOtp(request.getUserId());
 
         return buildAuthResponse(user);
     }
 
     public AuthResponse login(LoginRequest request) {
+        credentialRateLimiter.check(request.getPhone());
         authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(request.getPhone(), request.getPassword())
         );
@@ -109,19 +123,18 @@ public class AuthService {
     }
 
     public AuthResponse refreshToken(RefreshTokenRequest request) {
-        if (!jwtTokenProvider.validateToken(request.getRefreshToken())) {
-            throw new JufaException("JUFA-AUTH-003", "Invalid refresh token");
-        }
+        Claims claims = jwtTokenProvider.parseClaims(request.getRefreshToken())
+            .filter(parsed -> "refresh".equals(parsed.get("type", String.class)))
+            .filter(parsed -> !tokenRevocationService.isRevoked(parsed))
+            .orElseThrow(() -> new JufaException("JUFA-AUTH-003", "Invalid refresh token"));
 
-        String tokenType = jwtTokenProvider.getTokenType(request.getRefreshToken());
-        if (!"refresh".equals(tokenType)) {
-            throw new JufaException("JUFA-AUTH-003", "Invalid token type");
-        }
-
-        String userId = jwtTokenProvider.getUserIdFromToken(request.getRefreshToken());
-        User user = userRepository.findById(UUID.fromString(userId))
+        User user = userRepository.findById(UUID.fromString(claims.getSubject()))
             .orElseThrow(() -> new JufaException("JUFA-USER-001", "User not found"));
 
+        if (user.getStatus() != UserStatus.ACTIVE) {
+            throw new JufaException("JUFA-AUTH-005", "Account is not active");
+        }
+
         String newAccessToken = jwtTokenProvider.generateAccessToken(user);
 
         return AuthResponse.builder()
@@ -130,27 +143,41 @@ public class AuthService {
             .build();
     }
 
-    public Map<String, Object> verifyPin(User user, VerifyPinRequest request) {
+    public void logout(String accessToken, LogoutRequest request) {
+        jwtTokenProvider.parseClaims(accessToken)
+            .ifPresent(claims -> tokenRevocationService.revoke(claims.getId(), claims.getExpiration()));
+        jwtTokenProvider.parseClaims(request.getRefreshToken())
+            .filter(claims -> "refresh".equals(claims.get("type", String.class)))
+            .ifPresent(claims -> tokenRevocationService.revoke(claims.getId(), claims.getExpiration()));
+    }
+
+    public Map<String, Object> verifyPin(User principal, VerifyPinRequest request) {
+        User user = userRepository.findById(principal.getId())
+            .orElseThrow(() -> new JufaException("JUFA-USER-001", "User not found"));
+
         if (user.getPinHash() == null) {
             throw new JufaException("JUFA-AUTH-007", "PIN not set");
         }
 
+        credentialRateLimiter.check(user.getPhone());
         if (!passwordEncoder.matches(request.getPin(), user.getPinHash())) {
             throw new JufaException("JUFA-AUTH-004", "Invalid PIN");
         }
+        if (passwordEncoder.upgradeEncoding(user.getPinHash())) {
+            user.setPinHash(passwordEncoder.encode(request.getPin()));
+            userRepository.save(user);
+        }
 
-        String tempToken = UUID.randomUUID().toString();
-        pinTokenStorage.put(user.getId(), tempToken);
+        String tempToken = authTokenService.issuePinToken(user.getId());
 
         return Map.of(
             "tempToken", tempToken,
-            "expiresIn", 300
+            "expiresIn", authTokenService.pinTokenTtlSeconds()
         );
     }
 
     public boolean validatePinToken(UUID userId, String tempToken) {
-        String stored = pinTokenStorage.get(userId);
-        return stored != null && stored.equals(tempToken);
+        return authTokenService.isValidPinToken(userId, tempToken);
     }
 
     private void createDefaultWallet(User user) {
@@ -163,9 +190,10 @@ public class AuthService {
         Wallet wallet = Wallet.builder()
             .user(user)
             .walletType(walletType)
+            .shardCount(walletShardService.shardCountFor(walletType))
             .build();
 
-        walletRepository.save(wallet);
+        walletShardService.createShards(walletRepository.save(wallet));
         log.info("Wallet created for user {} with type {}", user.getPhone(), walletType);
     }
 
@@ -0,0 +1,61 @@
+package ml.jufa.backend.auth.service;
+
+import ml.jufa.backend.auth.store.TokenCheck;
+import ml.jufa.backend.auth.store.TokenStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Service
+public class AuthTokenService {
+
+    private static final String OTP_PREFIX = "otp:";
+    private static final String PIN_TOKEN_PREFIX = "pin:";
+
+    private final TokenStore tokenStore;
+    private final Duration otpTtl;
+    private final int otpMaxAttempts;
+    private final Duration pinTokenTtl;
+    private final int pinTokenMaxAttempts;
+
+    public AuthTokenService(
+            TokenStore tokenStore,
+            @Value("${jufa.otp.expiration-minutes:5}") long otpExpirationMinutes,
+            @Value("${jufa.otp.max-attempts:5}") int otpMaxAttempts,
+            @Value("${jufa.auth.pin-token.ttl-seconds:300}") long pinTokenTtlSeconds,
+            @Value("${jufa.auth.pin-token.max-attempts:5}") int pinTokenMaxAttempts) {
+        this.tokenStore = tokenStore;
+        this.otpTtl = Duration.ofMinutes(otpExpirationMinutes);
+        this.otpMaxAttempts = otpMaxAttempts;
+        this.pinTokenTtl = Duration.ofSeconds(pinTokenTtlSeconds);
+        this.pinTokenMaxAttempts = pinTokenMaxAttempts;
+    }
+
+    public void storeOtp(UUID userId, String otp) {
+        tokenStore.put(OTP_PREFIX + userId, otp, otpTtl);
+    }
+
+    public TokenCheck checkOtp(UUID userId, String otp) {
+        return tokenStore.check(OTP_PREFIX + userId, otp, otpMaxAttempts);
+    }
+
+    public void consumeOtp(UUID userId) {
+        tokenStore.remove(OTP_PREFIX + userId);
+    }
+
+    public String issuePinToken(UUID userId) {
+        String tempToken = UUID.randomUUID().toString();
+        tokenStore.put(PIN_TOKEN_PREFIX + userId, tempToken, pinTokenTtl);
+        return tempToken;
+    }
+
+    public boolean isValidPinToken(UUID userId, String tempToken) {
+        return tokenStore.check(PIN_TOKEN_PREFIX + userId, tempToken, pinTokenMaxAttempts) == TokenCheck.MATCH;
+    }
+
+    public int pinTokenTtlSeconds() {
+        return Math.toIntExact(pinTokenTtl.toSeconds());
+    }
+}
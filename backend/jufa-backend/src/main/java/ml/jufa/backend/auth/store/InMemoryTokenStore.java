@@ -0,0 +1,83 @@
+package ml.jufa.backend.auth.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+
+@Component
+@ConditionalOnProperty(name = "jufa.auth.token-store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenStore implements TokenStore {
+
+    private final Cache<String, Entry> cache;
+
+    public InMemoryTokenStore(@Value("${jufa.auth.token-store-max-entries:200000}") long maxEntries) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new EntryExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        cache.put(key, new Entry(value, 0, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public TokenCheck check(String key, String candidate, int maxAttempts) {
+        TokenCheck[] result = {TokenCheck.ABSENT};
+        cache.asMap().computeIfPresent(key, (k, entry) -> {
+            if (matches(entry.value(), candidate)) {
+                result[0] = TokenCheck.MATCH;
+                return entry;
+            }
+            int attempts = entry.attempts() + 1;
+            if (attempts >= maxAttempts) {
+                result[0] = TokenCheck.LOCKED;
+                return null;
+            }
+            result[0] = TokenCheck.MISMATCH;
+            return new Entry(entry.value(), attempts, entry.expiresAtNanos());
+        });
+        return result[0];
+    }
+
+    @Override
+    public void remove(String key) {
+        cache.invalidate(key);
+    }
+
+    private static boolean matches(String expected, String candidate) {
+        return candidate != null && MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8), candidate.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Entry(String value, int attempts, long expiresAtNanos) {
+    }
+
+    private static class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return Math.max(0, entry.expiresAtNanos() - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return Math.max(0, entry.expiresAtNanos() - currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
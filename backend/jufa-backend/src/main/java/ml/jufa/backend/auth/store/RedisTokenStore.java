@@ -0,0 +1,67 @@
+package ml.jufa.backend.auth.store;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "jufa.auth.token-store", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisTokenStore implements TokenStore {
+
+    private static final String KEY_PREFIX = "jufa:token:";
+    private static final String ATTEMPTS_SUFFIX = ":attempts";
+
+    private static final RedisScript<Long> CHECK_SCRIPT = new DefaultRedisScript<>("""
+            local value = redis.call('GET', KEYS[1])
+            if not value then return 0 end
+            if value == ARGV[1] then return 1 end
+            local attempts = redis.call('INCR', KEYS[2])
+            if attempts == 1 then
+              redis.call('PEXPIRE', KEYS[2], math.max(redis.call('PTTL', KEYS[1]), 1))
+            end
+            if attempts >= tonumber(ARGV[2]) then
+              redis.call('DEL', KEYS[1], KEYS[2])
+              return 3
+            end
+            return 2
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        redisTemplate.delete(KEY_PREFIX + key + ATTEMPTS_SUFFIX);
+        redisTemplate.opsForValue().set(KEY_PREFIX + key, value, ttl);
+    }
+
+    @Override
+    public TokenCheck check(String key, String candidate, int maxAttempts) {
+        if (candidate == null) {
+            return TokenCheck.MISMATCH;
+        }
+        Long result = redisTemplate.execute(CHECK_SCRIPT,
+                List.of(KEY_PREFIX + key, KEY_PREFIX + key + ATTEMPTS_SUFFIX),
+                candidate, String.valueOf(maxAttempts));
+        if (result == null) {
+            return TokenCheck.ABSENT;
+        }
+        return switch (result.intValue()) {
+            case 1 -> TokenCheck.MATCH;
+            case 2 -> TokenCheck.MISMATCH;
+            case 3 -> TokenCheck.LOCKED;
+            default -> TokenCheck.ABSENT;
+        };
+    }
+
+    @Override
+    public void remove(String key) {
+        redisTemplate.delete(List.of(KEY_PREFIX + key, KEY_PREFIX + key + ATTEMPTS_SUFFIX));
+    }
+}
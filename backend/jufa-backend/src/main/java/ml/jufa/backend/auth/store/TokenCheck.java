@@ -0,0 +1,8 @@
+package ml.jufa.backend.auth.store;
+
+public enum TokenCheck {
+    MATCH,
+    MISMATCH,
+    ABSENT,
+    LOCKED
+}
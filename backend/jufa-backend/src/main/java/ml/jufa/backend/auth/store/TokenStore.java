@@ -0,0 +1,12 @@
+package ml.jufa.backend.auth.store;
+
+import java.time.Duration;
+
+public interface TokenStore {
+
+    void put(String key, String value, Duration ttl);
+
+    TokenCheck check(String key, String candidate, int maxAttempts);
+
+    void remove(String key);
+}
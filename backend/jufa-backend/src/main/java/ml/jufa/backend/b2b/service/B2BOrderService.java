@@ -7,6 +7,7 @@ import ml.jufa.backend.b2b.entity.*;
 import ml.jufa.backend.b2b.repository.B2BOrderRepository;
 import ml.jufa.backend.b2b.repository.ProductRepository;
 import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.common.util.ReferenceGenerator;
 import ml.jufa.backend.merchant.entity.MerchantProfile;
 import ml.jufa.backend.merchant.entity.MerchantType;
 import ml.jufa.backend.merchant.entity.WholesalerRetailer;
@@ -33,6 +34,7 @@ public class B2BOrderService {
     private final MerchantProfileRepository merchantRepository;
     private final WholesalerRetailerRepository relationRepository;
     private final PushNotificationService notificationService;
+    private final ReferenceGenerator referenceGenerator;
 
     @Transactional
     public OrderResponse createOrder(User user, CreateOrderRequest request) {
@@ -72,7 +74,7 @@ public class B2BOrderService {
                 });
 
         B2BOrder order = B2BOrder.builder()
-                .reference(generateReference())
+                .reference(referenceGenerator.next("CMD"))
                 .wholesaler(wholesaler)
                 .retailer(retailer)
                 .relation(relation)
@@ -316,9 +318,4 @@ public class B2BOrderService {
         }
         return merchant;
     }
-
-    private String generateReference() {
-        return "CMD" + System.currentTimeMillis() + 
-                String.format("%04d", (int)(Math.random() * 10000));
-    }
 }
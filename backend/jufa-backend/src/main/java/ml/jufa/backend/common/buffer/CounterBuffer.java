@@ -0,0 +1,127 @@
+package ml.jufa.backend.common.buffer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+@Slf4j
+public class CounterBuffer {
+
+    private static final int RETAINED_DAYS = 2;
+
+    private final String name;
+    private final int width;
+    private final long flushThreshold;
+    private final Consumer<Map<CounterKey, long[]>> sink;
+    private final Consumer<CounterBuffer> flushRequest;
+
+    private final ConcurrentHashMap<CounterKey, LongAdder[]> cells = new ConcurrentHashMap<>();
+    private final LongAdder pendingEvents = new LongAdder();
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    CounterBuffer(String name, int width, long flushThreshold,
+                  Consumer<Map<CounterKey, long[]>> sink, Consumer<CounterBuffer> flushRequest) {
+        this.name = name;
+        this.width = width;
+        this.flushThreshold = flushThreshold;
+        this.sink = sink;
+        this.flushRequest = flushRequest;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void add(CounterKey key, long... deltas) {
+        if (deltas.length != width) {
+            throw new IllegalArgumentException("Counter buffer " + name + " expects " + width + " values");
+        }
+
+        accumulate(key, deltas);
+        oldestPendingMillis.compareAndSet(0L, System.currentTimeMillis());
+        pendingEvents.increment();
+
+        if (pendingEvents.sum() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            flushRequest.accept(this);
+        }
+    }
+
+    public synchronized int flush() {
+        flushRequested.set(false);
+        long oldest = oldestPendingMillis.getAndSet(0L);
+        pendingEvents.sumThenReset();
+
+        Map<CounterKey, long[]> batch = drain();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            sink.accept(batch);
+        } catch (RuntimeException e) {
+            log.warn("Counter buffer {} flush failed, re-queueing {} keys: {}", name, batch.size(), e.getMessage());
+            batch.forEach(this::accumulate);
+            oldestPendingMillis.accumulateAndGet(oldest, (current, previous) ->
+                    current == 0L ? previous : Math.min(current, previous));
+            return 0;
+        }
+
+        evictExpired();
+        return batch.size();
+    }
+
+    public long lagMillis() {
+        long oldest = oldestPendingMillis.get();
+        return oldest == 0L ? 0L : System.currentTimeMillis() - oldest;
+    }
+
+    public long pendingEvents() {
+        return pendingEvents.sum();
+    }
+
+    private void accumulate(CounterKey key, long[] deltas) {
+        LongAdder[] row = cells.computeIfAbsent(key, k -> newRow());
+        for (int i = 0; i < width; i++) {
+            if (deltas[i] != 0L) {
+                row[i].add(deltas[i]);
+            }
+        }
+    }
+
+    private Map<CounterKey, long[]> drain() {
+        Map<CounterKey, long[]> batch = new HashMap<>();
+        cells.forEach((key, row) -> {
+            long[] values = new long[width];
+            boolean dirty = false;
+            for (int i = 0; i < width; i++) {
+                values[i] = row[i].sumThenReset();
+                dirty |= values[i] != 0L;
+            }
+            if (dirty) {
+                batch.put(key, values);
+            }
+        });
+        return batch;
+    }
+
+    private void evictExpired() {
+        LocalDate cutoff = LocalDate.now().minusDays(RETAINED_DAYS);
+        cells.keySet().removeIf(key -> key.date().isBefore(cutoff));
+    }
+
+    private LongAdder[] newRow() {
+        LongAdder[] row = new LongAdder[width];
+        for (int i = 0; i < width; i++) {
+            row[i] = new LongAdder();
+        }
+        return row;
+    }
+}
@@ -0,0 +1,93 @@
+package ml.jufa.backend.common.buffer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+@Component
+@Slf4j
+public class CounterBufferManager implements SmartLifecycle {
+
+    private final MeterRegistry meterRegistry;
+    private final long flushThreshold;
+    private final List<CounterBuffer> buffers = new CopyOnWriteArrayList<>();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "counter-buffer-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running;
+
+    public CounterBufferManager(
+            MeterRegistry meterRegistry,
+            @Value("${jufa.counters.flush-threshold:1000}") long flushThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.flushThreshold = flushThreshold;
+    }
+
+    public CounterBuffer register(String name, int width, Consumer<Map<CounterKey, long[]>> sink) {
+        CounterBuffer buffer = new CounterBuffer(name, width, flushThreshold, sink, this::requestFlush);
+        buffers.add(buffer);
+
+        Gauge.builder("jufa.counter.buffer.flush.lag", buffer, CounterBuffer::lagMillis)
+                .tag("buffer", name)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("jufa.counter.buffer.pending", buffer, CounterBuffer::pendingEvents)
+                .tag("buffer", name)
+                .register(meterRegistry);
+        return buffer;
+    }
+
+    @Scheduled(fixedDelayString = "${jufa.counters.flush-interval-ms:1000}")
+    public void flushAll() {
+        for (CounterBuffer buffer : buffers) {
+            int flushed = buffer.flush();
+            if (flushed > 0) {
+                log.debug("Counter buffer {} flushed {} keys", buffer.getName(), flushed);
+            }
+        }
+    }
+
+    private void requestFlush(CounterBuffer buffer) {
+        try {
+            flusher.execute(buffer::flush);
+        } catch (RejectedExecutionException e) {
+            log.debug("Counter buffer {} flush request ignored during shutdown", buffer.getName());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flusher.shutdown();
+        flushAll();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
@@ -0,0 +1,7 @@
+package ml.jufa.backend.common.buffer;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record CounterKey(UUID entityId, LocalDate date) {
+}
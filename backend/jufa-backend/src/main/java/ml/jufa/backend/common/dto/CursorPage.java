@@ -0,0 +1,37 @@
+package ml.jufa.backend.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ml.jufa.backend.common.entity.BaseEntity;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+
+    public static <E extends BaseEntity, T> CursorPage<T> from(Slice<E> slice, Function<E, T> mapper) {
+        List<E> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? Cursor.of(content.get(content.size() - 1)).encode()
+                : null;
+
+        return CursorPage.<T>builder()
+                .items(content.stream().map(mapper).toList())
+                .nextCursor(nextCursor)
+                .hasNext(slice.hasNext())
+                .size(content.size())
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package ml.jufa.backend.common.exception;
+
+public class TooManyRequestsException extends JufaException {
+
+    public TooManyRequestsException(String code, String message) {
+        super(code, message);
+    }
+}
@@ -0,0 +1,34 @@
+package ml.jufa.backend.common.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+public final class TimeOrderedUuid {
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private TimeOrderedUuid() {
+    }
+
+    public static UUID next() {
+        return at(System.currentTimeMillis());
+    }
+
+    public static UUID at(long epochMillis) {
+        SecureRandom random = RANDOM.get();
+        long msb = (epochMillis << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    public static boolean isTimeOrdered(UUID uuid) {
+        return uuid.version() == 7;
+    }
+
+    public static long timestampOf(UUID uuid) {
+        if (!isTimeOrdered(uuid)) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
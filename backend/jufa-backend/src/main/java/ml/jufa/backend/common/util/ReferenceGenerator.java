@@ -0,0 +1,71 @@
+package ml.jufa.backend.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Component
+@Slf4j
+public class ReferenceGenerator {
+
+    public static final long EPOCH_MILLIS = 1704067200000L;
+    public static final int ENCODED_LENGTH = 13;
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong();
+
+    public ReferenceGenerator(@Value("${jufa.reference.node-id:-1}") long nodeId) {
+        this(nodeId < 0 ? defaultNodeId() : nodeId, System::currentTimeMillis);
+    }
+
+    ReferenceGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+        log.info("Reference generator using node id {}", nodeId);
+    }
+
+    public String next(String prefix) {
+        long id = nextId();
+        int offset = prefix.length();
+        char[] chars = new char[offset + ENCODED_LENGTH];
+        prefix.getChars(0, offset, chars, 0);
+        for (int i = chars.length - 1; i >= offset; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public long nextId() {
+        long next;
+        long current;
+        do {
+            current = state.get();
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            next = now > (current >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : current + 1;
+        } while (!state.compareAndSet(current, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & SEQUENCE_MASK;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    private static long defaultNodeId() {
+        log.warn("jufa.reference.node-id is not set, using node id 0; every node sharing a database needs a distinct id");
+        return 0;
+    }
+}
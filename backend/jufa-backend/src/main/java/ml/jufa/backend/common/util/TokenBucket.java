@@ -0,0 +1,49 @@
+package ml.jufa.backend.common.util;
+
+import java.time.Duration;
+
+public class TokenBucket {
+
+    private final double capacity;
+    private final double nanosPerToken;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(int capacity, Duration refillPeriod) {
+        this.capacity = capacity;
+        this.nanosPerToken = (double) refillPeriod.toNanos() / capacity;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public synchronized boolean tryAcquire(long now) {
+        return tryAcquire(now, 1);
+    }
+
+    public synchronized boolean tryAcquire(long now, int permits) {
+        refill(now);
+        if (tokens < permits) {
+            return false;
+        }
+        tokens -= permits;
+        return true;
+    }
+
+    public synchronized long nanosUntilAvailable(long now, int permits) {
+        refill(now);
+        double missing = Math.min(permits, capacity) - tokens;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing * nanosPerToken);
+    }
+
+    public int capacity() {
+        return (int) capacity;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed / nanosPerToken);
+            lastRefill = now;
+        }
+    }
+}
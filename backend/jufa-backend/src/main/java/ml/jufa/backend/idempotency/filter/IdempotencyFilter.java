@@ -0,0 +1,158 @@
+package ml.jufa.backend.idempotency.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.common.dto.ApiResponse;
+import ml.jufa.backend.idempotency.store.IdempotencyRecord;
+import ml.jufa.backend.idempotency.store.IdempotencyStore;
+import ml.jufa.backend.user.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Set<String> paths;
+    private final Duration ttl;
+    private final Duration lockTtl;
+
+    public IdempotencyFilter(
+            IdempotencyStore store,
+            ObjectMapper objectMapper,
+            @Value("${jufa.idempotency.paths:}") List<String> paths,
+            @Value("${jufa.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${jufa.idempotency.lock-ttl-seconds:30}") long lockTtlSeconds) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.paths = Set.copyOf(paths);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lockTtl = Duration.ofSeconds(lockTtlSeconds);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !StringUtils.hasText(request.getHeader(HEADER))
+                || !paths.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "JUFA-IDEM-003", "Idempotency-Key is too long");
+            return;
+        }
+
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request);
+        String storeKey = scope(request) + ":" + idempotencyKey;
+        String requestHash = hash(request, cachedRequest.getBody());
+
+        Optional<IdempotencyRecord> existing = store.find(storeKey);
+        if (existing.isEmpty() && !store.reserve(storeKey, IdempotencyRecord.inProgress(requestHash), lockTtl)) {
+            existing = store.find(storeKey);
+        }
+
+        if (existing.isPresent()) {
+            handleExisting(existing.get(), requestHash, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(cachedRequest, cachedResponse);
+        } catch (IOException | ServletException | RuntimeException e) {
+            store.release(storeKey);
+            throw e;
+        }
+
+        if (cachedResponse.getStatus() >= 500) {
+            store.release(storeKey);
+        } else {
+            store.save(storeKey, IdempotencyRecord.completed(requestHash, cachedResponse.getStatus(),
+                    cachedResponse.getContentType(), cachedResponse.getContentAsByteArray()), ttl);
+        }
+        cachedResponse.copyBodyToResponse();
+    }
+
+    private void handleExisting(IdempotencyRecord record, String requestHash, HttpServletResponse response)
+            throws IOException {
+        if (!record.requestHash().equals(requestHash)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "JUFA-IDEM-001",
+                    "Idempotency-Key was already used with a different request");
+            return;
+        }
+
+        if (!record.completed()) {
+            writeError(response, HttpStatus.CONFLICT, "JUFA-IDEM-002",
+                    "A request with this Idempotency-Key is still being processed");
+            return;
+        }
+
+        response.setStatus(record.status());
+        if (record.contentType() != null) {
+            response.setContentType(record.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.body() != null) {
+            response.getOutputStream().write(record.body());
+        }
+    }
+
+    private String scope(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId().toString();
+        }
+        return "anonymous";
+    }
+
+    private String hash(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getServletPath() + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String code, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(code, message));
+    }
+}
@@ -0,0 +1,17 @@
+package ml.jufa.backend.idempotency.store;
+
+public record IdempotencyRecord(
+        String requestHash,
+        boolean completed,
+        int status,
+        String contentType,
+        byte[] body) {
+
+    public static IdempotencyRecord inProgress(String requestHash) {
+        return new IdempotencyRecord(requestHash, false, 0, null, null);
+    }
+
+    public static IdempotencyRecord completed(String requestHash, int status, String contentType, byte[] body) {
+        return new IdempotencyRecord(requestHash, true, status, contentType, body);
+    }
+}
@@ -0,0 +1,15 @@
+package ml.jufa.backend.idempotency.store;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    Optional<IdempotencyRecord> find(String key);
+
+    boolean reserve(String key, IdempotencyRecord record, Duration ttl);
+
+    void save(String key, IdempotencyRecord record, Duration ttl);
+
+    void release(String key);
+}
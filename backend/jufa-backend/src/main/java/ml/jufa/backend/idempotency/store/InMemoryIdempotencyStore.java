@@ -0,0 +1,66 @@
+package ml.jufa.backend.idempotency.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "jufa.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, Entry> cache;
+
+    public InMemoryIdempotencyStore(@Value("${jufa.idempotency.max-entries:100000}") long maxEntries) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new EntryExpiry())
+                .build();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return Optional.ofNullable(cache.getIfPresent(key)).map(Entry::record);
+    }
+
+    @Override
+    public boolean reserve(String key, IdempotencyRecord record, Duration ttl) {
+        return cache.asMap().putIfAbsent(key, new Entry(record, ttl.toNanos())) == null;
+    }
+
+    @Override
+    public void save(String key, IdempotencyRecord record, Duration ttl) {
+        cache.put(key, new Entry(record, ttl.toNanos()));
+    }
+
+    @Override
+    public void release(String key) {
+        cache.invalidate(key);
+    }
+
+    private record Entry(IdempotencyRecord record, long ttlNanos) {
+    }
+
+    private static class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ml.jufa.backend.job.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ml.jufa.backend.common.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "dead_letter_jobs", indexes = {
+    @Index(name = "idx_dead_letter_job_type", columnList = "type")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeadLetterJob extends BaseEntity {
+
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+
+    public static DeadLetterJob from(Job job) {
+        return DeadLetterJob.builder()
+                .jobId(job.getId())
+                .type(job.getType())
+                .payload(job.getPayload())
+                .attempts(job.getAttempts())
+                .lastError(job.getLastError())
+                .failedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package ml.jufa.backend.job.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ml.jufa.backend.common.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "jobs", indexes = {
+    @Index(name = "idx_job_status_run_at", columnList = "status, run_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Job extends BaseEntity {
+
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private JobStatus status = JobStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    @Column(name = "run_at", nullable = false)
+    private LocalDateTime runAt;
+
+    @Column(name = "locked_by", length = 64)
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public void lease(String node, LocalDateTime until) {
+        this.status = JobStatus.RUNNING;
+        this.lockedBy = node;
+        this.lockedUntil = until;
+        this.attempts++;
+    }
+
+    public void retryAt(LocalDateTime nextRun, String error) {
+        this.status = JobStatus.PENDING;
+        this.lockedBy = null;
+        this.lockedUntil = null;
+        this.runAt = nextRun;
+        this.lastError = error;
+    }
+
+    public boolean isExhausted() {
+        return attempts >= maxAttempts;
+    }
+}
@@ -0,0 +1,6 @@
+package ml.jufa.backend.job.entity;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING
+}
@@ -0,0 +1,11 @@
+package ml.jufa.backend.job.repository;
+
+import ml.jufa.backend.job.entity.DeadLetterJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface DeadLetterJobRepository extends JpaRepository<DeadLetterJob, UUID> {
+}
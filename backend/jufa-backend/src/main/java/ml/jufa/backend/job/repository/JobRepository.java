@@ -0,0 +1,43 @@
+package ml.jufa.backend.job.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import ml.jufa.backend.job.entity.Job;
+import ml.jufa.backend.job.entity.JobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM Job j WHERE (j.status = :pending AND j.runAt <= :now) " +
+           "OR (j.status = :running AND j.lockedUntil < :now) ORDER BY j.runAt")
+    List<Job> findDueForUpdate(@Param("now") LocalDateTime now,
+                               @Param("pending") JobStatus pending,
+                               @Param("running") JobStatus running,
+                               Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.lockedUntil = :until WHERE j.id IN :ids AND j.lockedBy = :node AND j.status = :running")
+    int renewLeases(@Param("ids") Collection<UUID> ids,
+                    @Param("node") String node,
+                    @Param("running") JobStatus running,
+                    @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("DELETE FROM Job j WHERE j.id = :id AND j.lockedBy = :node")
+    int deleteLeased(@Param("id") UUID id, @Param("node") String node);
+}
@@ -0,0 +1,13 @@
+package ml.jufa.backend.job.service;
+
+public interface JobHandler<T> {
+
+    String type();
+
+    Class<T> payloadType();
+
+    void handle(T payload) throws Exception;
+
+    default void onDeadLetter(T payload, String error) {
+    }
+}
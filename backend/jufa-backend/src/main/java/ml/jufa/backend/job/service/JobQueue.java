@@ -0,0 +1,49 @@
+package ml.jufa.backend.job.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ml.jufa.backend.job.entity.Job;
+import ml.jufa.backend.job.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+public class JobQueue {
+
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final int defaultMaxAttempts;
+
+    public JobQueue(
+            JobRepository jobRepository,
+            ObjectMapper objectMapper,
+            @Value("${jufa.jobs.max-attempts:8}") int defaultMaxAttempts) {
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.defaultMaxAttempts = defaultMaxAttempts;
+    }
+
+    public Job enqueue(String type, Object payload) {
+        return enqueue(type, payload, defaultMaxAttempts);
+    }
+
+    public Job enqueue(String type, Object payload, int maxAttempts) {
+        Job job = Job.builder()
+                .type(type)
+                .payload(write(payload))
+                .maxAttempts(maxAttempts)
+                .runAt(LocalDateTime.now())
+                .build();
+        return jobRepository.save(job);
+    }
+
+    private String write(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize job payload", e);
+        }
+    }
+}
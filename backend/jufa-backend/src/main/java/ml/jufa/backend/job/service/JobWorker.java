@@ -0,0 +1,211 @@
+package ml.jufa.backend.job.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.job.entity.DeadLetterJob;
+import ml.jufa.backend.job.entity.Job;
+import ml.jufa.backend.job.entity.JobStatus;
+import ml.jufa.backend.job.repository.DeadLetterJobRepository;
+import ml.jufa.backend.job.repository.JobRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class JobWorker implements DisposableBean {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JobRepository jobRepository;
+    private final DeadLetterJobRepository deadLetterJobRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, JobHandler<?>> handlers;
+    private final String nodeId;
+    private final int batchSize;
+    private final Duration lease;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final Semaphore permits;
+    private final ExecutorService workers;
+    private final Set<UUID> leased = ConcurrentHashMap.newKeySet();
+
+    public JobWorker(
+            JobRepository jobRepository,
+            DeadLetterJobRepository deadLetterJobRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            List<JobHandler<?>> handlers,
+            @Value("${jufa.jobs.node-id:}") String nodeId,
+            @Value("${jufa.jobs.worker-threads:4}") int workerThreads,
+            @Value("${jufa.jobs.batch-size:20}") int batchSize,
+            @Value("${jufa.jobs.lease-seconds:60}") long leaseSeconds,
+            @Value("${jufa.jobs.initial-backoff-ms:5000}") long initialBackoffMs,
+            @Value("${jufa.jobs.max-backoff-ms:600000}") long maxBackoffMs) {
+        this.jobRepository = jobRepository;
+        this.deadLetterJobRepository = deadLetterJobRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.handlers = handlers.stream().collect(Collectors.toMap(JobHandler::type, Function.identity()));
+        this.nodeId = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.permits = new Semaphore(workerThreads);
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "job-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${jufa.jobs.poll-interval-ms:1000}")
+    public void poll() {
+        int capacity = Math.min(permits.availablePermits(), batchSize);
+        if (capacity == 0) {
+            return;
+        }
+
+        List<Job> claimed = transactionTemplate.execute(status -> claim(capacity));
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        log.debug("Node {} claimed {} jobs", nodeId, claimed.size());
+        for (Job job : claimed) {
+            permits.acquireUninterruptibly();
+            workers.execute(() -> {
+                try {
+                    run(job);
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    List<Job> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Job> due = jobRepository.findDueForUpdate(now, JobStatus.PENDING, JobStatus.RUNNING,
+                PageRequest.of(0, limit));
+        LocalDateTime lockedUntil = now.plus(lease);
+        due.forEach(job -> job.lease(nodeId, lockedUntil));
+        return due;
+    }
+
+    @Scheduled(fixedDelayString = "${jufa.jobs.lease-renew-interval-ms:20000}")
+    public void renewLeases() {
+        if (leased.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(leased);
+        LocalDateTime lockedUntil = LocalDateTime.now().plus(lease);
+        Integer renewed = transactionTemplate.execute(status ->
+                jobRepository.renewLeases(ids, nodeId, JobStatus.RUNNING, lockedUntil));
+        if (renewed != null && renewed < ids.size()) {
+            log.warn("Node {} lost the lease on {} of {} running jobs", nodeId, ids.size() - renewed, ids.size());
+        }
+    }
+
+    void run(Job job) {
+        JobHandler<?> handler = handlers.get(job.getType());
+        leased.add(job.getId());
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("No handler registered for job type " + job.getType());
+            }
+            dispatch(handler, job.getPayload());
+            Integer deleted = transactionTemplate.execute(status -> jobRepository.deleteLeased(job.getId(), nodeId));
+            if (deleted == null || deleted == 0) {
+                log.warn("Job {} ({}) finished after its lease was taken over", job.getId(), job.getType());
+            }
+        } catch (Exception e) {
+            fail(job, handler, e);
+        } finally {
+            leased.remove(job.getId());
+        }
+    }
+
+    private <T> void dispatch(JobHandler<T> handler, String payload) throws Exception {
+        handler.handle(objectMapper.readValue(payload, handler.payloadType()));
+    }
+
+    private void fail(Job job, JobHandler<?> handler, Exception e) {
+        String error = truncate(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+
+        if (handler == null || job.isExhausted()) {
+            log.error("Job {} ({}) dead-lettered after {} attempts: {}",
+                    job.getId(), job.getType(), job.getAttempts(), error);
+            Boolean deadLettered = transactionTemplate.execute(status -> jobRepository.findById(job.getId())
+                    .filter(this::isLeasedHere)
+                    .map(current -> {
+                        current.setLastError(error);
+                        deadLetterJobRepository.save(DeadLetterJob.from(current));
+                        jobRepository.delete(current);
+                        return true;
+                    })
+                    .orElse(false));
+            if (handler != null && Boolean.TRUE.equals(deadLettered)) {
+                notifyDeadLetter(handler, job.getPayload(), error);
+            }
+            return;
+        }
+
+        LocalDateTime nextRun = LocalDateTime.now().plus(Duration.ofMillis(backoff(job.getAttempts())));
+        log.warn("Job {} ({}) attempt {}/{} failed, retrying at {}: {}",
+                job.getId(), job.getType(), job.getAttempts(), job.getMaxAttempts(), nextRun, error);
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(job.getId())
+                .filter(this::isLeasedHere)
+                .ifPresent(current -> current.retryAt(nextRun, error)));
+    }
+
+    private boolean isLeasedHere(Job job) {
+        return job.getStatus() == JobStatus.RUNNING && nodeId.equals(job.getLockedBy());
+    }
+
+    private <T> void notifyDeadLetter(JobHandler<T> handler, String payload, String error) {
+        try {
+            handler.onDeadLetter(objectMapper.readValue(payload, handler.payloadType()), error);
+        } catch (Exception e) {
+            log.error("Dead-letter hook for job type {} failed: {}", handler.type(), e.getMessage());
+        }
+    }
+
+    private long backoff(int attempts) {
+        long delay = initialBackoffMs << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, maxBackoffMs);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+}
@@ -61,7 +61,7 @@ public class KycController {
             @RequestParam boolean approved,
             @RequestParam(required = false) String reason,
             @AuthenticationPrincipal User admin) {
-        KycDocumentResponse response = kycService.reviewDocument(documentId, approved, reason, admin.getEmail());
+        KycDocumentResponse response = kycService.reviewDocument(documentId, approved, reason, admin);
         return ResponseEntity.ok(ApiResponse.success(response, approved ? "Document approved" : "Document rejected"));
     }
 }
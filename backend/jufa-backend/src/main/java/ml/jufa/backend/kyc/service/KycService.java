@@ -10,6 +10,7 @@ import ml.jufa.backend.kyc.entity.DocumentType;
 import ml.jufa.backend.kyc.entity.KycDocument;
 import ml.jufa.backend.kyc.repository.KycDocumentRepository;
 import ml.jufa.backend.notification.service.PushNotificationService;
+import ml.jufa.backend.security.principal.UserPrincipalCache;
 import ml.jufa.backend.user.entity.KycLevel;
 import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.user.repository.UserRepository;
@@ -35,6 +36,7 @@ public class KycService {
     private final KycDocumentRepository kycDocumentRepository;
     private final UserRepository userRepository;
     private final PushNotificationService pushNotificationService;
+    private final UserPrincipalCache userPrincipalCache;
     
     private static final String UPLOAD_DIR = "uploads/kyc/";
 
@@ -104,14 +106,14 @@ public class KycService {
     }
 
     @Transactional
-    public KycDocumentResponse reviewDocument(UUID documentId, boolean approved, String reason, String reviewerEmail) {
+    public KycDocumentResponse reviewDocument(UUID documentId, boolean approved, String reason, User reviewer) {
         KycDocument document = kycDocumentRepository.findById(documentId)
             .orElseThrow(() -> new JufaException("JUFA-KYC-005", "Document not found"));
 
         document.setStatus(approved ? DocumentStatus.APPROVED : DocumentStatus.REJECTED);
         document.setRejectionReason(approved ? null : reason);
         document.setReviewedAt(LocalDateTime.now());
-        document.setReviewedBy(reviewerEmail);
+        document.setReviewedBy(userRepository.findById(reviewer.getId()).map(User::getEmail).orElse(null));
 
         kycDocumentRepository.save(document);
 
@@ -148,6 +150,7 @@ public class KycService {
         if (newLevel.ordinal() > user.getKycLevel().ordinal()) {
             user.setKycLevel(newLevel);
             userRepository.save(user);
+            userPrincipalCache.evict(user.getId());
             log.info("User {} upgraded to KYC {}", user.getPhone(), newLevel);
         }
     }
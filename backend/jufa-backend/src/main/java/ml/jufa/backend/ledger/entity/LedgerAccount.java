@@ -0,0 +1,11 @@
+package ml.jufa.backend.ledger.entity;
+
+public enum LedgerAccount {
+    WALLET,
+    FEE_REVENUE,
+    AGENT_CASH,
+    MOBILE_MONEY,
+    COMMISSION_EXPENSE,
+    OPENING_BALANCE,
+    ADJUSTMENT
+}
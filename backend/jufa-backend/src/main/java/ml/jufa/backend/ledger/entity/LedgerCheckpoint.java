@@ -0,0 +1,40 @@
+package ml.jufa.backend.ledger.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "ledger_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerCheckpoint {
+
+    @Id
+    @Column(name = "wallet_id")
+    private UUID walletId;
+
+    @Column(name = "last_sequence", nullable = false)
+    @Builder.Default
+    private Long lastSequence = 0L;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    @Builder.Default
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public void advance(LedgerEntry entry) {
+        this.balance = this.balance.add(entry.deltaFor(walletId));
+        this.lastSequence = entry.getSequence();
+    }
+}
@@ -0,0 +1,73 @@
+package ml.jufa.backend.ledger.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Immutable
+@Table(name = "ledger_entries", indexes = {
+    @Index(name = "idx_ledger_debit_wallet", columnList = "debit_wallet_id, sequence_number"),
+    @Index(name = "idx_ledger_credit_wallet", columnList = "credit_wallet_id, sequence_number"),
+    @Index(name = "idx_ledger_reference", columnList = "reference")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entry_seq")
+    @SequenceGenerator(name = "ledger_entry_seq", sequenceName = "ledger_entry_seq", allocationSize = 1)
+    @Column(name = "sequence_number")
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private LedgerEntryType entryType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "debit_account", nullable = false)
+    private LedgerAccount debitAccount;
+
+    @Column(name = "debit_wallet_id")
+    private UUID debitWalletId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "credit_account", nullable = false)
+    private LedgerAccount creditAccount;
+
+    @Column(name = "credit_wallet_id")
+    private UUID creditWalletId;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal amount;
+
+    @Column(length = 3)
+    @Builder.Default
+    private String currency = "XOF";
+
+    @Column(length = 50)
+    private String reference;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public BigDecimal deltaFor(UUID walletId) {
+        BigDecimal delta = BigDecimal.ZERO;
+        if (walletId.equals(creditWalletId)) {
+            delta = delta.add(amount);
+        }
+        if (walletId.equals(debitWalletId)) {
+            delta = delta.subtract(amount);
+        }
+        return delta;
+    }
+}
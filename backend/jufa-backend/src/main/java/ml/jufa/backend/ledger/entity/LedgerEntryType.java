@@ -0,0 +1,14 @@
+package ml.jufa.backend.ledger.entity;
+
+public enum LedgerEntryType {
+    TRANSFER,
+    FEE,
+    CASH_IN,
+    CASH_OUT,
+    COMMISSION,
+    DEPOSIT,
+    WITHDRAWAL,
+    REFUND,
+    ADJUSTMENT,
+    OPENING_BALANCE
+}
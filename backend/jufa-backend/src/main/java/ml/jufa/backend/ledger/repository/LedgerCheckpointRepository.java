@@ -0,0 +1,11 @@
+package ml.jufa.backend.ledger.repository;
+
+import ml.jufa.backend.ledger.entity.LedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, UUID> {
+}
@@ -0,0 +1,28 @@
+package ml.jufa.backend.ledger.repository;
+
+import ml.jufa.backend.ledger.entity.LedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    List<LedgerEntry> findByReferenceOrderBySequence(String reference);
+
+    @Query("SELECT COUNT(e) > 0 FROM LedgerEntry e WHERE e.debitWalletId = :walletId OR e.creditWalletId = :walletId")
+    boolean existsForWallet(@Param("walletId") UUID walletId);
+
+    @Query("SELECT e FROM LedgerEntry e WHERE (e.debitWalletId = :walletId OR e.creditWalletId = :walletId) " +
+           "AND e.sequence > :afterSequence AND e.createdAt < :before ORDER BY e.sequence")
+    List<LedgerEntry> findWalletEntriesAfter(@Param("walletId") UUID walletId,
+                                             @Param("afterSequence") Long afterSequence,
+                                             @Param("before") LocalDateTime before,
+                                             Pageable pageable);
+}
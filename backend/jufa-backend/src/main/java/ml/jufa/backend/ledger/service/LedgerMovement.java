@@ -0,0 +1,46 @@
+package ml.jufa.backend.ledger.service;
+
+import ml.jufa.backend.ledger.entity.LedgerAccount;
+import ml.jufa.backend.ledger.entity.LedgerEntry;
+import ml.jufa.backend.ledger.entity.LedgerEntryType;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record LedgerMovement(
+        LedgerEntryType type,
+        LedgerAccount debitAccount,
+        UUID debitWalletId,
+        LedgerAccount creditAccount,
+        UUID creditWalletId,
+        BigDecimal amount,
+        String reference) {
+
+    public static LedgerMovement walletToWallet(LedgerEntryType type, UUID fromWalletId, UUID toWalletId,
+                                                BigDecimal amount, String reference) {
+        return new LedgerMovement(type, LedgerAccount.WALLET, fromWalletId, LedgerAccount.WALLET, toWalletId,
+                amount, reference);
+    }
+
+    public static LedgerMovement walletToAccount(LedgerEntryType type, UUID fromWalletId, LedgerAccount account,
+                                                 BigDecimal amount, String reference) {
+        return new LedgerMovement(type, LedgerAccount.WALLET, fromWalletId, account, null, amount, reference);
+    }
+
+    public static LedgerMovement accountToWallet(LedgerEntryType type, LedgerAccount account, UUID toWalletId,
+                                                 BigDecimal amount, String reference) {
+        return new LedgerMovement(type, account, null, LedgerAccount.WALLET, toWalletId, amount, reference);
+    }
+
+    LedgerEntry toEntry() {
+        return LedgerEntry.builder()
+                .entryType(type)
+                .debitAccount(debitAccount)
+                .debitWalletId(debitWalletId)
+                .creditAccount(creditAccount)
+                .creditWalletId(creditWalletId)
+                .amount(amount)
+                .reference(reference)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package ml.jufa.backend.ledger.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "jufa.ledger.bootstrap-opening-balances", havingValue = "true")
+@RequiredArgsConstructor
+public class LedgerOpeningBalanceRunner implements ApplicationRunner {
+
+    private final LedgerService ledgerService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ledgerService.bootstrapOpeningBalances();
+    }
+}
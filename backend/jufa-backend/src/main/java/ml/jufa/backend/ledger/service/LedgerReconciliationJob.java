@@ -0,0 +1,39 @@
+package ml.jufa.backend.ledger.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@ConditionalOnProperty(name = "jufa.ledger.reconcile-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class LedgerReconciliationJob {
+
+    private static final int LOGGED_MISMATCHES = 50;
+
+    private final LedgerService ledgerService;
+    private final AtomicInteger mismatchedWallets = new AtomicInteger();
+
+    public LedgerReconciliationJob(LedgerService ledgerService, MeterRegistry meterRegistry) {
+        this.ledgerService = ledgerService;
+        Gauge.builder("jufa.ledger.mismatched.wallets", mismatchedWallets, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${jufa.ledger.reconcile-cron:0 30 2 * * *}")
+    public void reconcile() {
+        List<UUID> mismatches = ledgerService.reconcileAll();
+        mismatchedWallets.set(mismatches.size());
+        if (!mismatches.isEmpty()) {
+            log.error("Ledger out of balance for {} wallet(s), first: {}", mismatches.size(),
+                    mismatches.subList(0, Math.min(LOGGED_MISMATCHES, mismatches.size())));
+        }
+    }
+}
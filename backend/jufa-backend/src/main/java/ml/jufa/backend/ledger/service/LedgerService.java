@@ -0,0 +1,227 @@
+package ml.jufa.backend.ledger.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.ledger.entity.LedgerAccount;
+import ml.jufa.backend.ledger.entity.LedgerCheckpoint;
+import ml.jufa.backend.ledger.entity.LedgerEntry;
+import ml.jufa.backend.ledger.entity.LedgerEntryType;
+import ml.jufa.backend.ledger.repository.LedgerCheckpointRepository;
+import ml.jufa.backend.ledger.repository.LedgerEntryRepository;
+import ml.jufa.backend.wallet.entity.Wallet;
+import ml.jufa.backend.wallet.repository.WalletRepository;
+import ml.jufa.backend.wallet.service.WalletLockService;
+import ml.jufa.backend.wallet.service.WalletPosting;
+import ml.jufa.backend.wallet.service.WalletPostingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class LedgerService {
+
+    private final LedgerEntryRepository entryRepository;
+    private final LedgerCheckpointRepository checkpointRepository;
+    private final WalletRepository walletRepository;
+    private final WalletPostingService walletPostingService;
+    private final WalletLockService walletLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long checkpointLagSeconds;
+
+    public LedgerService(
+            LedgerEntryRepository entryRepository,
+            LedgerCheckpointRepository checkpointRepository,
+            WalletRepository walletRepository,
+            WalletPostingService walletPostingService,
+            WalletLockService walletLockService,
+            PlatformTransactionManager transactionManager,
+            @Value("${jufa.ledger.rebuild-batch-size:1000}") int batchSize,
+            @Value("${jufa.ledger.checkpoint-lag-seconds:60}") long checkpointLagSeconds) {
+        this.entryRepository = entryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.walletRepository = walletRepository;
+        this.walletPostingService = walletPostingService;
+        this.walletLockService = walletLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.checkpointLagSeconds = checkpointLagSeconds;
+    }
+
+    @Transactional
+    public void post(LedgerMovement movement) {
+        post(List.of(movement));
+    }
+
+    @Transactional
+    public void post(List<LedgerMovement> movements) {
+        List<LedgerMovement> effective = movements.stream()
+                .filter(movement -> movement.amount() != null && movement.amount().signum() > 0)
+                .toList();
+
+        walletPostingService.post(netPostings(effective));
+        record(effective);
+    }
+
+    @Transactional
+    public void record(List<LedgerMovement> movements) {
+        List<LedgerEntry> entries = movements.stream()
+                .filter(movement -> movement.amount() != null && movement.amount().signum() > 0)
+                .map(LedgerMovement::toEntry)
+                .toList();
+
+        if (!entries.isEmpty()) {
+            entryRepository.saveAll(entries);
+        }
+    }
+
+    @Transactional
+    public void recordOpeningBalance(Wallet wallet) {
+        if (checkpointRepository.existsById(wallet.getId())) {
+            throw new JufaException("JUFA-LEDGER-001", "Wallet is already tracked by the ledger");
+        }
+
+        record(List.of(LedgerMovement.accountToWallet(LedgerEntryType.OPENING_BALANCE,
+                LedgerAccount.OPENING_BALANCE, wallet.getId(), wallet.getTotalBalance(), null)));
+        checkpointRepository.save(LedgerCheckpoint.builder().walletId(wallet.getId()).build());
+    }
+
+    public int bootstrapOpeningBalances() {
+        int recorded = 0;
+        int page = 0;
+        Page<Wallet> wallets;
+        do {
+            wallets = walletRepository.findAll(PageRequest.of(page++, batchSize, Sort.by("id")));
+            for (Wallet wallet : wallets) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> bootstrap(wallet.getId())))) {
+                    recorded++;
+                }
+            }
+        } while (wallets.hasNext());
+
+        log.info("Ledger bootstrap finished: {} opening balance(s) recorded", recorded);
+        return recorded;
+    }
+
+    private boolean bootstrap(UUID walletId) {
+        if (checkpointRepository.existsById(walletId) || entryRepository.existsForWallet(walletId)) {
+            return false;
+        }
+        recordOpeningBalance(lockForRead(walletId));
+        return true;
+    }
+
+    @Transactional
+    public LedgerCheckpoint rebuild(UUID walletId) {
+        LedgerCheckpoint checkpoint = checkpointRepository.findById(walletId)
+                .orElseGet(() -> LedgerCheckpoint.builder().walletId(walletId).build());
+
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(checkpointLagSeconds);
+        List<LedgerEntry> batch;
+        do {
+            batch = entryRepository.findWalletEntriesAfter(
+                    walletId, checkpoint.getLastSequence(), settledBefore, PageRequest.of(0, batchSize));
+            batch.forEach(checkpoint::advance);
+        } while (batch.size() == batchSize);
+
+        return checkpointRepository.save(checkpoint);
+    }
+
+    @Transactional
+    public BigDecimal derivedBalance(UUID walletId) {
+        LedgerCheckpoint checkpoint = rebuild(walletId);
+        BigDecimal balance = checkpoint.getBalance();
+        long afterSequence = checkpoint.getLastSequence();
+
+        LocalDateTime now = LocalDateTime.now().plusSeconds(1);
+        List<LedgerEntry> batch;
+        do {
+            batch = entryRepository.findWalletEntriesAfter(walletId, afterSequence, now, PageRequest.of(0, batchSize));
+            for (LedgerEntry entry : batch) {
+                balance = balance.add(entry.deltaFor(walletId));
+                afterSequence = entry.getSequence();
+            }
+        } while (batch.size() == batchSize);
+
+        return balance;
+    }
+
+    @Transactional
+    public boolean reconcile(UUID walletId) {
+        Wallet wallet = lockForRead(walletId);
+
+        BigDecimal derived = derivedBalance(walletId);
+        if (derived.compareTo(wallet.getTotalBalance()) != 0) {
+            log.warn("Ledger mismatch on wallet {}: ledger={} wallet={}", walletId, derived, wallet.getTotalBalance());
+            return false;
+        }
+        return true;
+    }
+
+    public List<UUID> reconcileAll() {
+        List<UUID> mismatches = new ArrayList<>();
+        int page = 0;
+        Page<Wallet> wallets;
+        do {
+            wallets = walletRepository.findAll(PageRequest.of(page++, batchSize, Sort.by("id")));
+            for (Wallet wallet : wallets) {
+                try {
+                    if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcile(wallet.getId())))) {
+                        mismatches.add(wallet.getId());
+                    }
+                } catch (Exception e) {
+                    log.error("Ledger reconciliation failed for wallet {}: {}", wallet.getId(), e.getMessage());
+                    mismatches.add(wallet.getId());
+                }
+            }
+        } while (wallets.hasNext());
+
+        log.info("Ledger reconciliation finished: {} wallet(s) out of balance", mismatches.size());
+        return mismatches;
+    }
+
+    private Wallet lockForRead(UUID walletId) {
+        Wallet wallet = walletLockService.lock(walletId);
+        if (!wallet.isSharded()) {
+            return wallet;
+        }
+        walletLockService.lockShards(walletId);
+        return walletLockService.lock(walletId);
+    }
+
+    private List<WalletPosting> netPostings(List<LedgerMovement> movements) {
+        Map<UUID, BigDecimal> net = new LinkedHashMap<>();
+        for (LedgerMovement movement : movements) {
+            if (movement.debitWalletId() != null) {
+                net.merge(movement.debitWalletId(), movement.amount().negate(), BigDecimal::add);
+            }
+            if (movement.creditWalletId() != null) {
+                net.merge(movement.creditWalletId(), movement.amount(), BigDecimal::add);
+            }
+        }
+
+        List<WalletPosting> postings = new ArrayList<>();
+        net.forEach((walletId, amount) -> {
+            if (amount.signum() < 0) {
+                postings.add(WalletPosting.debit(walletId, amount.negate()));
+            } else if (amount.signum() > 0) {
+                postings.add(WalletPosting.credit(walletId, amount));
+            }
+        });
+        return postings;
+    }
+}
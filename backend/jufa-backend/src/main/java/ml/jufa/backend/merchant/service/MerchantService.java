@@ -9,6 +9,7 @@ import ml.jufa.backend.merchant.entity.MerchantType;
 import ml.jufa.backend.merchant.entity.WholesalerRetailer;
 import ml.jufa.backend.merchant.repository.MerchantProfileRepository;
 import ml.jufa.backend.merchant.repository.WholesalerRetailerRepository;
+import ml.jufa.backend.security.principal.UserPrincipalCache;
 import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.user.entity.UserType;
 import ml.jufa.backend.user.repository.UserRepository;
@@ -29,9 +30,13 @@ public class MerchantService {
     private final MerchantProfileRepository merchantProfileRepository;
     private final WholesalerRetailerRepository wholesalerRetailerRepository;
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Transactional
-    public MerchantProfileResponse createMerchantProfile(User user, CreateMerchantProfileRequest request) {
+    public MerchantProfileResponse createMerchantProfile(User principal, CreateMerchantProfileRequest request) {
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new JufaException("JUFA-USER-001", "User not found"));
+
         if (merchantProfileRepository.existsByUser(user)) {
             throw new JufaException("JUFA-MERCHANT-001", "Merchant profile already exists");
         }
@@ -39,6 +44,7 @@ public class MerchantService {
         if (user.getUserType() != UserType.MERCHANT) {
             user.setUserType(UserType.MERCHANT);
             userRepository.save(user);
+            userPrincipalCache.evict(user.getId());
         }
 
         MerchantProfile profile = MerchantProfile.builder()
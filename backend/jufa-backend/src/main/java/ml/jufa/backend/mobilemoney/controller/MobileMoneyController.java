@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import ml.jufa.backend.common.dto.ApiResponse;
+import ml.jufa.backend.common.dto.CursorPage;
 import ml.jufa.backend.mobilemoney.dto.*;
 import ml.jufa.backend.mobilemoney.service.MobileMoneyService;
 import ml.jufa.backend.user.entity.User;
@@ -86,6 +87,16 @@ public class MobileMoneyController {
         return ResponseEntity.ok(ApiResponse.success(history));
     }
 
+    @GetMapping("/operations/cursor")
+    @Operation(summary = "Historique des opérations Mobile Money (pagination par curseur)")
+    public ResponseEntity<ApiResponse<CursorPage<MobileMoneyOperationResponse>>> getOperationHistoryByCursor(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<MobileMoneyOperationResponse> history = mobileMoneyService.getOperationHistory(user, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
+
     @GetMapping("/deposits")
     @Operation(summary = "Historique des dépôts")
     public ResponseEntity<ApiResponse<Page<MobileMoneyOperationResponse>>> getDepositHistory(
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "mobile_money_operations", indexes = {
-    @Index(name = "idx_momo_user", columnList = "user_id"),
+    @Index(name = "idx_momo_user_created", columnList = "user_id, created_at DESC, id DESC"),
     @Index(name = "idx_momo_status", columnList = "status"),
     @Index(name = "idx_momo_reference", columnList = "reference"),
     @Index(name = "idx_momo_provider_ref", columnList = "provider_reference")
@@ -6,11 +6,14 @@ import ml.jufa.backend.mobilemoney.entity.MobileMoneyOperationType;
 import ml.jufa.backend.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -21,10 +24,23 @@ public interface MobileMoneyOperationRepository extends JpaRepository<MobileMone
 
     Optional<MobileMoneyOperation> findByReference(String reference);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<MobileMoneyOperation> findWithLockById(UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<MobileMoneyOperation> findWithLockByReference(String reference);
+
     Optional<MobileMoneyOperation> findByProviderReference(String providerReference);
 
     Page<MobileMoneyOperation> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
 
+    @Query("SELECT o FROM MobileMoneyOperation o WHERE o.user = :user " +
+           "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<MobileMoneyOperation> findByUserBefore(@Param("user") User user,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") UUID id,
+                                                 Pageable pageable);
+
     Page<MobileMoneyOperation> findByUserAndOperationTypeOrderByCreatedAtDesc(
             User user, MobileMoneyOperationType operationType, Pageable pageable);
 
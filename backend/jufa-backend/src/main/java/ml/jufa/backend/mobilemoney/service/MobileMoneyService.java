@@ -2,7 +2,15 @@ package ml.jufa.backend.mobilemoney.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.common.dto.Cursor;
+import ml.jufa.backend.common.dto.CursorPage;
 import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.common.util.ReferenceGenerator;
+import ml.jufa.backend.job.service.JobQueue;
+import ml.jufa.backend.ledger.entity.LedgerAccount;
+import ml.jufa.backend.ledger.entity.LedgerEntryType;
+import ml.jufa.backend.ledger.service.LedgerMovement;
+import ml.jufa.backend.ledger.service.LedgerService;
 import ml.jufa.backend.mobilemoney.dto.*;
 import ml.jufa.backend.mobilemoney.entity.*;
 import ml.jufa.backend.mobilemoney.repository.MobileMoneyOperationRepository;
@@ -16,8 +24,8 @@ import ml.jufa.backend.wallet.entity.Wallet;
 import ml.jufa.backend.wallet.entity.WalletType;
 import ml.jufa.backend.wallet.repository.WalletRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,7 +33,9 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -36,8 +46,11 @@ public class MobileMoneyService {
 
     private final MobileMoneyOperationRepository operationRepository;
     private final WalletRepository walletRepository;
+    private final LedgerService ledgerService;
     private final TransactionRepository transactionRepository;
     private final PushNotificationService pushNotificationService;
+    private final ReferenceGenerator referenceGenerator;
+    private final JobQueue jobQueue;
 
     private static final BigDecimal DEPOSIT_FEE_PERCENT = new BigDecimal("0.00");
     private static final BigDecimal WITHDRAWAL_FEE_PERCENT = new BigDecimal("0.015");
@@ -72,7 +85,7 @@ public class MobileMoneyService {
         BigDecimal fee = calculateDepositFee(request.getAmount());
 
         MobileMoneyOperation operation = MobileMoneyOperation.builder()
-                .reference(generateReference("DEP"))
+                .reference(referenceGenerator.next("DEP"))
                 .operationType(MobileMoneyOperationType.DEPOSIT)
                 .provider(request.getProvider())
                 .status(MobileMoneyOperationStatus.PENDING)
@@ -101,18 +114,12 @@ public class MobileMoneyService {
         BigDecimal fee = calculateWithdrawalFee(request.getAmount());
         BigDecimal totalDebit = request.getAmount().add(fee);
 
-        if (wallet.getAvailableBalance().compareTo(totalDebit) < 0) {
+        if (wallet.getTotalAvailableBalance().compareTo(totalDebit) < 0) {
             throw new JufaException("JUFA-MOMO-003", "Solde insuffisant");
         }
 
-        Wallet lockedWallet = walletRepository.findWithLockById(wallet.getId())
-                .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet not found"));
-
-        lockedWallet.debit(totalDebit);
-        walletRepository.save(lockedWallet);
-
         MobileMoneyOperation operation = MobileMoneyOperation.builder()
-                .reference(generateReference("WDR"))
+                .reference(referenceGenerator.next("WDR"))
                 .operationType(MobileMoneyOperationType.WITHDRAWAL)
                 .provider(request.getProvider())
                 .status(MobileMoneyOperationStatus.PROCESSING)
@@ -124,11 +131,17 @@ public class MobileMoneyService {
                 .expiresAt(LocalDateTime.now().plusMinutes(OPERATION_EXPIRY_MINUTES))
                 .build();
 
+        ledgerService.post(List.of(
+                LedgerMovement.walletToAccount(LedgerEntryType.WITHDRAWAL, wallet.getId(),
+                        LedgerAccount.MOBILE_MONEY, operation.getAmount(), operation.getReference()),
+                LedgerMovement.walletToAccount(LedgerEntryType.FEE, wallet.getId(),
+                        LedgerAccount.FEE_REVENUE, operation.getFee(), operation.getReference())));
+
         operationRepository.save(operation);
         log.info("Withdrawal initiated: {} XOF via {} for user {}", 
                 request.getAmount(), request.getProvider(), user.getPhone());
 
-        processWithdrawalAsync(operation, lockedWallet);
+        jobQueue.enqueue(WithdrawalJobHandler.TYPE, new WithdrawalJob(operation.getId()));
 
         return MobileMoneyOperationResponse.fromEntity(operation);
     }
@@ -162,18 +175,15 @@ public class MobileMoneyService {
         }
 
         Wallet wallet = getDefaultWallet(user);
-        Wallet lockedWallet = walletRepository.findWithLockById(wallet.getId())
-                .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet not found"));
-
         BigDecimal netAmount = operation.getAmount().subtract(operation.getFee());
-        lockedWallet.credit(netAmount);
-        walletRepository.save(lockedWallet);
+        ledgerService.post(LedgerMovement.accountToWallet(LedgerEntryType.DEPOSIT, LedgerAccount.MOBILE_MONEY,
+                wallet.getId(), netAmount, operation.getReference()));
 
         String providerTxId = "PROV-" + System.currentTimeMillis();
         operation.complete(providerTxId);
         operationRepository.save(operation);
 
-        createDepositTransaction(operation, lockedWallet);
+        createDepositTransaction(operation, wallet);
 
         pushNotificationService.sendTransactionReceived(user, netAmount, 
                 operation.getProvider().getDisplayName(), operation.getReference());
@@ -186,7 +196,7 @@ public class MobileMoneyService {
 
     @Transactional
     public MobileMoneyOperationResponse cancelOperation(User user, String reference) {
-        MobileMoneyOperation operation = operationRepository.findByReference(reference)
+        MobileMoneyOperation operation = operationRepository.findWithLockByReference(reference)
                 .orElseThrow(() -> new JufaException("JUFA-MOMO-004", "Opération non trouvée"));
 
         if (!operation.getUser().getId().equals(user.getId())) {
@@ -204,11 +214,7 @@ public class MobileMoneyService {
         if (operation.getOperationType() == MobileMoneyOperationType.WITHDRAWAL &&
                 operation.getStatus() == MobileMoneyOperationStatus.PROCESSING) {
             Wallet wallet = getDefaultWallet(user);
-            Wallet lockedWallet = walletRepository.findWithLockById(wallet.getId())
-                    .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet not found"));
-            
-            lockedWallet.credit(operation.getTotalAmount());
-            walletRepository.save(lockedWallet);
+            ledgerService.post(refundMovements(operation, wallet));
         }
 
         operation.cancel();
@@ -235,6 +241,14 @@ public class MobileMoneyService {
                 .map(MobileMoneyOperationResponse::fromEntity);
     }
 
+    public CursorPage<MobileMoneyOperationResponse> getOperationHistory(User user, String cursor, int size) {
+        Cursor position = Cursor.decode(cursor);
+        return CursorPage.from(
+                operationRepository.findByUserBefore(user, position.createdAt(), position.id(),
+                        PageRequest.of(0, Cursor.clampSize(size))),
+                MobileMoneyOperationResponse::fromEntity);
+    }
+
     public Page<MobileMoneyOperationResponse> getDepositHistory(User user, Pageable pageable) {
         return operationRepository.findByUserAndOperationTypeOrderByCreatedAtDesc(
                         user, MobileMoneyOperationType.DEPOSIT, pageable)
@@ -299,37 +313,60 @@ public class MobileMoneyService {
         log.info("[MOCK] Deposit awaiting confirmation. Provider ref: {}", mockProviderRef);
     }
 
-    @Async
-    protected void processWithdrawalAsync(MobileMoneyOperation operation, Wallet wallet) {
-        try {
-            Thread.sleep(2000);
+    @Transactional
+    public void processWithdrawal(UUID operationId) {
+        MobileMoneyOperation operation = operationRepository.findWithLockById(operationId)
+                .orElseThrow(() -> new JufaException("JUFA-MOMO-004", "Opération non trouvée"));
 
-            log.info("[MOCK] Processing withdrawal with {}: {} XOF to {}", 
-                    operation.getProvider(), operation.getAmount(), operation.getPhoneNumber());
+        if (operation.getStatus() != MobileMoneyOperationStatus.PROCESSING) {
+            log.info("Withdrawal {} already {}, skipping", operation.getReference(), operation.getStatus());
+            return;
+        }
 
-            String providerTxId = "WTX-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-            
-            operation.complete(providerTxId);
-            operationRepository.save(operation);
+        Wallet wallet = getDefaultWallet(operation.getUser());
 
-            createWithdrawalTransaction(operation, wallet);
+        log.info("[MOCK] Processing withdrawal with {}: {} XOF to {}", 
+                operation.getProvider(), operation.getAmount(), operation.getPhoneNumber());
 
-            pushNotificationService.sendTransactionSent(operation.getUser(), operation.getAmount(), 
-                    operation.getProvider().getDisplayName(), operation.getReference());
+        String providerTxId = "WTX-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
 
-            log.info("[MOCK] Withdrawal completed. Provider TX: {}", providerTxId);
+        operation.complete(providerTxId);
+        operationRepository.save(operation);
 
-        } catch (Exception e) {
-            log.error("Withdrawal failed: {}", e.getMessage());
-            operation.fail(e.getMessage());
-            operationRepository.save(operation);
+        createWithdrawalTransaction(operation, wallet);
+
+        pushNotificationService.sendTransactionSent(operation.getUser(), operation.getAmount(), 
+                operation.getProvider().getDisplayName(), operation.getReference());
+
+        log.info("[MOCK] Withdrawal completed. Provider TX: {}", providerTxId);
+    }
 
-            wallet.credit(operation.getTotalAmount());
-            walletRepository.save(wallet);
+    @Transactional
+    public void failWithdrawal(UUID operationId, String reason) {
+        MobileMoneyOperation operation = operationRepository.findWithLockById(operationId)
+                .orElseThrow(() -> new JufaException("JUFA-MOMO-004", "Opération non trouvée"));
 
-            pushNotificationService.sendTransactionFailed(operation.getUser(), operation.getAmount(), 
-                    e.getMessage(), operation.getReference());
+        if (operation.getStatus() != MobileMoneyOperationStatus.PROCESSING) {
+            return;
         }
+
+        log.error("Withdrawal {} failed: {}", operation.getReference(), reason);
+        Wallet wallet = getDefaultWallet(operation.getUser());
+        operation.fail(reason);
+        operationRepository.save(operation);
+
+        ledgerService.post(refundMovements(operation, wallet));
+
+        pushNotificationService.sendTransactionFailed(operation.getUser(), operation.getAmount(), 
+                reason, operation.getReference());
+    }
+
+    private List<LedgerMovement> refundMovements(MobileMoneyOperation operation, Wallet wallet) {
+        return List.of(
+                LedgerMovement.accountToWallet(LedgerEntryType.REFUND, LedgerAccount.MOBILE_MONEY,
+                        wallet.getId(), operation.getAmount(), operation.getReference()),
+                LedgerMovement.accountToWallet(LedgerEntryType.REFUND, LedgerAccount.FEE_REVENUE,
+                        wallet.getId(), operation.getFee(), operation.getReference()));
     }
 
     private boolean verifyProviderPayment(MobileMoneyOperation operation, String otp) {
@@ -347,8 +384,7 @@ public class MobileMoneyService {
                 .amount(operation.getAmount().subtract(operation.getFee()))
                 .fee(operation.getFee())
                 .description(operation.getDescription())
-                .metadata("{\"provider\":\"" + operation.getProvider().getCode() + 
-                        "\",\"providerTxId\":\"" + operation.getProviderTransactionId() + "\"}")
+                .metadata(providerMetadata(operation, false))
                 .build();
         transaction.complete();
         transactionRepository.save(transaction);
@@ -363,16 +399,21 @@ public class MobileMoneyService {
                 .amount(operation.getAmount())
                 .fee(operation.getFee())
                 .description(operation.getDescription())
-                .metadata("{\"provider\":\"" + operation.getProvider().getCode() + 
-                        "\",\"providerTxId\":\"" + operation.getProviderTransactionId() + 
-                        "\",\"phone\":\"" + operation.getPhoneNumber() + "\"}")
+                .metadata(providerMetadata(operation, true))
                 .build();
         transaction.complete();
         transactionRepository.save(transaction);
     }
 
-    private String generateReference(String prefix) {
-        return prefix + System.currentTimeMillis() + 
-                String.format("%04d", (int)(Math.random() * 10000));
+    private Map<String, String> providerMetadata(MobileMoneyOperation operation, boolean includePhone) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("provider", operation.getProvider().getCode());
+        if (operation.getProviderTransactionId() != null) {
+            metadata.put("providerTxId", operation.getProviderTransactionId());
+        }
+        if (includePhone) {
+            metadata.put("phone", operation.getPhoneNumber());
+        }
+        return metadata;
     }
 }
@@ -0,0 +1,6 @@
+package ml.jufa.backend.mobilemoney.service;
+
+import java.util.UUID;
+
+public record WithdrawalJob(UUID operationId) {
+}
@@ -0,0 +1,34 @@
+package ml.jufa.backend.mobilemoney.service;
+
+import lombok.RequiredArgsConstructor;
+import ml.jufa.backend.job.service.JobHandler;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class WithdrawalJobHandler implements JobHandler<WithdrawalJob> {
+
+    public static final String TYPE = "mobile-money.withdrawal";
+
+    private final MobileMoneyService mobileMoneyService;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<WithdrawalJob> payloadType() {
+        return WithdrawalJob.class;
+    }
+
+    @Override
+    public void handle(WithdrawalJob payload) {
+        mobileMoneyService.processWithdrawal(payload.operationId());
+    }
+
+    @Override
+    public void onDeadLetter(WithdrawalJob payload, String error) {
+        mobileMoneyService.failWithdrawal(payload.operationId(), error);
+    }
+}
@@ -3,6 +3,7 @@ package ml.jufa.backend.notification.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import ml.jufa.backend.common.dto.ApiResponse;
+import ml.jufa.backend.common.dto.CursorPage;
 import ml.jufa.backend.notification.dto.NotificationResponse;
 import ml.jufa.backend.notification.dto.RegisterFcmTokenRequest;
 import ml.jufa.backend.notification.service.NotificationService;
@@ -34,6 +35,15 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success(notifications));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<NotificationResponse>>> getNotificationsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal User user) {
+        CursorPage<NotificationResponse> notifications = notificationService.getNotifications(user, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(notifications));
+    }
+
     @GetMapping("/unread-count")
     public ResponseEntity<ApiResponse<Map<String, Long>>> getUnreadCount(
             @AuthenticationPrincipal User user) {
@@ -0,0 +1,67 @@
+package ml.jufa.backend.notification.counter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "jufa.notifications.unread-counter.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryUnreadCounterStore implements UnreadCounterStore {
+
+    private final Cache<UUID, Long> counters;
+
+    public InMemoryUnreadCounterStore(
+            @Value("${jufa.notifications.unread-counter.max-entries:100000}") long maxEntries,
+            @Value("${jufa.notifications.unread-counter.ttl-seconds:300}") long ttlSeconds) {
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new ReconcileExpiry(Duration.ofSeconds(ttlSeconds).toNanos()))
+                .build();
+    }
+
+    @Override
+    public OptionalLong get(UUID userId) {
+        Long count = counters.getIfPresent(userId);
+        return count != null ? OptionalLong.of(count) : OptionalLong.empty();
+    }
+
+    @Override
+    public void set(UUID userId, long count) {
+        counters.put(userId, Math.max(0, count));
+    }
+
+    @Override
+    public void setIfAbsent(UUID userId, long count) {
+        counters.asMap().putIfAbsent(userId, Math.max(0, count));
+    }
+
+    @Override
+    public void adjustIfPresent(UUID userId, long delta) {
+        counters.asMap().computeIfPresent(userId, (id, count) -> Math.max(0, count + delta));
+    }
+
+    private record ReconcileExpiry(long ttlNanos) implements Expiry<UUID, Long> {
+
+        @Override
+        public long expireAfterCreate(UUID key, Long value, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, Long value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, Long value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ml.jufa.backend.notification.counter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "jufa.notifications.unread-counter.store", havingValue = "redis")
+public class RedisUnreadCounterStore implements UnreadCounterStore {
+
+    private static final String KEY_PREFIX = "jufa:notifications:unread:";
+
+    private static final RedisScript<Long> ADJUST_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end
+            local count = redis.call('INCRBY', KEYS[1], ARGV[1])
+            if count < 0 then
+              redis.call('SET', KEYS[1], 0, 'KEEPTTL')
+              return 0
+            end
+            return count
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public RedisUnreadCounterStore(
+            StringRedisTemplate redisTemplate,
+            @Value("${jufa.notifications.unread-counter.ttl-seconds:300}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    @Override
+    public OptionalLong get(UUID userId) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+        return value != null ? OptionalLong.of(Long.parseLong(value)) : OptionalLong.empty();
+    }
+
+    @Override
+    public void set(UUID userId, long count) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + userId, String.valueOf(Math.max(0, count)), ttl);
+    }
+
+    @Override
+    public void setIfAbsent(UUID userId, long count) {
+        redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + userId, String.valueOf(Math.max(0, count)), ttl);
+    }
+
+    @Override
+    public void adjustIfPresent(UUID userId, long delta) {
+        redisTemplate.execute(ADJUST_SCRIPT, List.of(KEY_PREFIX + userId), String.valueOf(delta));
+    }
+}
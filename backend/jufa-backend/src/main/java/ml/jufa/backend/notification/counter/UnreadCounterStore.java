@@ -0,0 +1,15 @@
+package ml.jufa.backend.notification.counter;
+
+import java.util.OptionalLong;
+import java.util.UUID;
+
+public interface UnreadCounterStore {
+
+    OptionalLong get(UUID userId);
+
+    void set(UUID userId, long count);
+
+    void setIfAbsent(UUID userId, long count);
+
+    void adjustIfPresent(UUID userId, long delta);
+}
@@ -8,6 +8,7 @@ import ml.jufa.backend.notification.entity.Notification;
 import ml.jufa.backend.notification.entity.NotificationType;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 @Data
@@ -19,7 +20,7 @@ public class NotificationResponse {
     private NotificationType type;
     private String title;
     private String body;
-    private String data;
+    private Map<String, String> data;
     private boolean read;
     private LocalDateTime readAt;
     private String referenceId;
@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import lombok.*;
 import ml.jufa.backend.common.entity.BaseEntity;
 import ml.jufa.backend.user.entity.User;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Entity
 @Table(name = "notifications", indexes = {
     @Index(name = "idx_notification_user_read", columnList = "user_id, read"),
+    @Index(name = "idx_notification_user_created", columnList = "user_id, created_at DESC, id DESC"),
     @Index(name = "idx_notification_created", columnList = "created_at DESC")
 })
 @Getter
@@ -33,8 +37,8 @@ public class Notification extends BaseEntity {
     @Column(columnDefinition = "TEXT")
     private String body;
 
-    @Column(columnDefinition = "TEXT")
-    private String data;
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, String> data;
 
     @Column(name = "read", nullable = false)
     @Builder.Default
@@ -0,0 +1,79 @@
+package ml.jufa.backend.notification.push;
+
+import com.google.firebase.messaging.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Component
+@Slf4j
+public class FirebasePushGateway implements PushGateway {
+
+    private final FirebaseMessaging firebaseMessaging;
+
+    @Autowired
+    public FirebasePushGateway(@Autowired(required = false) FirebaseMessaging firebaseMessaging) {
+        this.firebaseMessaging = firebaseMessaging;
+    }
+
+    @Override
+    public List<PushResult> send(List<PushMessage> messages) {
+        if (firebaseMessaging == null) {
+            messages.forEach(message -> log.info("[FCM MOCK] Push notification: {} - {}", message.title(), message.body()));
+            return Collections.nCopies(messages.size(), PushResult.SENT);
+        }
+
+        try {
+            BatchResponse response = firebaseMessaging.sendEach(messages.stream().map(FirebasePushGateway::toMessage).toList());
+            List<PushResult> results = new ArrayList<>(messages.size());
+            for (SendResponse sendResponse : response.getResponses()) {
+                results.add(toResult(sendResponse));
+            }
+            log.info("Push batch sent: {} ok, {} failed", response.getSuccessCount(), response.getFailureCount());
+            return results;
+        } catch (FirebaseMessagingException e) {
+            log.error("Failed to send push batch of {}: {}", messages.size(), e.getMessage());
+            return Collections.nCopies(messages.size(), PushResult.FAILED);
+        }
+    }
+
+    private static PushResult toResult(SendResponse response) {
+        if (response.isSuccessful()) {
+            return PushResult.SENT;
+        }
+        FirebaseMessagingException exception = response.getException();
+        if (exception != null && exception.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED) {
+            return PushResult.UNREGISTERED;
+        }
+        log.error("Failed to send push notification: {}", exception != null ? exception.getMessage() : "unknown error");
+        return PushResult.FAILED;
+    }
+
+    private static Message toMessage(PushMessage push) {
+        return Message.builder()
+                .setToken(push.fcmToken())
+                .setNotification(Notification.builder()
+                        .setTitle(push.title())
+                        .setBody(push.body())
+                        .build())
+                .putAllData(push.data())
+                .setAndroidConfig(AndroidConfig.builder()
+                        .setPriority(AndroidConfig.Priority.HIGH)
+                        .setNotification(AndroidNotification.builder()
+                                .setClickAction("FLUTTER_NOTIFICATION_CLICK")
+                                .setSound("default")
+                                .build())
+                        .build())
+                .setApnsConfig(ApnsConfig.builder()
+                        .setAps(Aps.builder()
+                                .setSound("default")
+                                .setBadge(1)
+                                .build())
+                        .build())
+                .build();
+    }
+}
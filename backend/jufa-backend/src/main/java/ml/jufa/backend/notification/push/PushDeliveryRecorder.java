@@ -0,0 +1,49 @@
+package ml.jufa.backend.notification.push;
+
+import ml.jufa.backend.notification.repository.NotificationRepository;
+import ml.jufa.backend.security.principal.UserPrincipalCache;
+import ml.jufa.backend.user.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class PushDeliveryRecorder {
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public PushDeliveryRecorder(
+            NotificationRepository notificationRepository,
+            UserRepository userRepository,
+            UserPrincipalCache userPrincipalCache,
+            PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void record(Collection<UUID> sentNotificationIds, Map<UUID, String> unregisteredTokens) {
+        if (sentNotificationIds.isEmpty() && unregisteredTokens.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentNotificationIds.isEmpty()) {
+                notificationRepository.markPushSent(sentNotificationIds, LocalDateTime.now());
+            }
+            unregisteredTokens.forEach((userId, staleToken) -> {
+                if (userRepository.clearFcmToken(userId, staleToken) > 0) {
+                    userPrincipalCache.evict(userId);
+                }
+            });
+        });
+    }
+}
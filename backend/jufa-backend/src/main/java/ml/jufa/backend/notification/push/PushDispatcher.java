@@ -0,0 +1,145 @@
+package ml.jufa.backend.notification.push;
+
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.common.util.TokenBucket;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class PushDispatcher implements DisposableBean {
+
+    static final int FCM_BATCH_LIMIT = 500;
+
+    private final PushGateway gateway;
+    private final PushDeliveryRecorder recorder;
+    private final TokenBucket quota;
+    private final int batchSize;
+    private final BlockingQueue<PushMessage> queue;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "push-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PushDispatcher(
+            PushGateway gateway,
+            PushDeliveryRecorder recorder,
+            @Value("${jufa.notifications.push.rate-per-second:500}") int ratePerSecond,
+            @Value("${jufa.notifications.push.queue-capacity:100000}") int queueCapacity) {
+        this.gateway = gateway;
+        this.recorder = recorder;
+        this.quota = new TokenBucket(ratePerSecond, Duration.ofSeconds(1));
+        this.batchSize = Math.min(FCM_BATCH_LIMIT, ratePerSecond);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public void enqueue(Collection<PushMessage> messages) {
+        int dropped = 0;
+        for (PushMessage message : messages) {
+            if (!queue.offer(message)) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            log.warn("Push queue full, dropped {} pushes", dropped);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jufa.notifications.push.coalesce-window-ms:1000}")
+    public void tick() {
+        if (queue.isEmpty() || !flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        } catch (RejectedExecutionException e) {
+            flushRequested.set(false);
+            log.debug("Push flush ignored during shutdown");
+        }
+    }
+
+    void flush() {
+        List<PushMessage> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<PushMessage> coalesced = coalesce(drained);
+        for (int from = 0; from < coalesced.size(); from += batchSize) {
+            List<PushMessage> batch = coalesced.subList(from, Math.min(from + batchSize, coalesced.size()));
+            try {
+                awaitQuota(batch.size());
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Push batch of {} failed: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    static List<PushMessage> coalesce(List<PushMessage> messages) {
+        Map<String, List<PushMessage>> byToken = new LinkedHashMap<>();
+        for (PushMessage message : messages) {
+            byToken.computeIfAbsent(message.fcmToken(), token -> new ArrayList<>()).add(message);
+        }
+
+        List<PushMessage> coalesced = new ArrayList<>(byToken.size());
+        for (List<PushMessage> group : byToken.values()) {
+            coalesced.add(group.size() == 1 ? group.get(0) : PushMessage.summary(group));
+        }
+        return coalesced;
+    }
+
+    private void awaitQuota(int permits) throws InterruptedException {
+        while (!quota.tryAcquire(System.nanoTime(), permits)) {
+            long waitNanos = quota.nanosUntilAvailable(System.nanoTime(), permits);
+            TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+    }
+
+    private void deliver(List<PushMessage> batch) {
+        List<PushResult> results = gateway.send(batch);
+        List<UUID> sent = new ArrayList<>();
+        Map<UUID, String> unregistered = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            PushMessage message = batch.get(i);
+            PushResult result = i < results.size() ? results.get(i) : PushResult.FAILED;
+            if (result == PushResult.SENT) {
+                sent.addAll(message.notificationIds());
+            } else if (result == PushResult.UNREGISTERED) {
+                unregistered.put(message.userId(), message.fcmToken());
+            }
+        }
+        recorder.record(sent, unregistered);
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdown();
+    }
+}
@@ -0,0 +1,8 @@
+package ml.jufa.backend.notification.push;
+
+import java.util.List;
+
+public interface PushGateway {
+
+    List<PushResult> send(List<PushMessage> messages);
+}
@@ -0,0 +1,28 @@
+package ml.jufa.backend.notification.push;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record PushMessage(
+        UUID userId,
+        String fcmToken,
+        String title,
+        String body,
+        Map<String, String> data,
+        List<UUID> notificationIds) {
+
+    public static PushMessage summary(List<PushMessage> messages) {
+        PushMessage latest = messages.get(messages.size() - 1);
+        List<UUID> notificationIds = new ArrayList<>();
+        messages.forEach(message -> notificationIds.addAll(message.notificationIds()));
+        return new PushMessage(
+                latest.userId(),
+                latest.fcmToken(),
+                "Jufa",
+                String.format("Vous avez %d nouvelles notifications", messages.size()),
+                Map.of("type", "SUMMARY", "count", String.valueOf(messages.size())),
+                notificationIds);
+    }
+}
@@ -0,0 +1,7 @@
+package ml.jufa.backend.notification.push;
+
+public enum PushResult {
+    SENT,
+    UNREGISTERED,
+    FAILED
+}
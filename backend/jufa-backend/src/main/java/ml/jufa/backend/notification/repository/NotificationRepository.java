@@ -4,12 +4,15 @@ import ml.jufa.backend.notification.entity.Notification;
 import ml.jufa.backend.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 
 @Repository
@@ -17,6 +20,13 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
 
     Page<Notification> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
 
+    @Query("SELECT n FROM Notification n WHERE n.user = :user " +
+           "AND n.createdAt <= :createdAt AND (n.createdAt < :createdAt OR n.id < :id) ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findByUserBefore(@Param("user") User user,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") UUID id,
+                                         Pageable pageable);
+
     Page<Notification> findByUserAndReadOrderByCreatedAtDesc(User user, boolean read, Pageable pageable);
 
     long countByUserAndRead(User user, boolean read);
@@ -24,4 +34,8 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     @Modifying
     @Query("UPDATE Notification n SET n.read = true, n.readAt = CURRENT_TIMESTAMP WHERE n.user = :user AND n.read = false")
     int markAllAsRead(@Param("user") User user);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.pushSent = true, n.pushSentAt = :sentAt WHERE n.id IN :ids")
+    int markPushSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") LocalDateTime sentAt);
 }
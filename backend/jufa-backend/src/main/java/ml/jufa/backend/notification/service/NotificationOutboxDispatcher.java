@@ -0,0 +1,164 @@
+package ml.jufa.backend.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.notification.dto.NotificationResponse;
+import ml.jufa.backend.notification.entity.Notification;
+import ml.jufa.backend.notification.entity.NotificationOutbox;
+import ml.jufa.backend.notification.push.PushDispatcher;
+import ml.jufa.backend.notification.push.PushMessage;
+import ml.jufa.backend.notification.repository.NotificationOutboxRepository;
+import ml.jufa.backend.notification.repository.NotificationRepository;
+import ml.jufa.backend.realtime.service.RealtimeEvent;
+import ml.jufa.backend.realtime.service.RealtimeEventPublisher;
+import ml.jufa.backend.user.repository.UserFcmToken;
+import ml.jufa.backend.user.repository.UserRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class NotificationOutboxDispatcher implements DisposableBean {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final PushDispatcher pushDispatcher;
+    private final RealtimeEventPublisher eventPublisher;
+    private final UnreadCounterService unreadCounterService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final ExecutorService drainer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationOutboxDispatcher(
+            NotificationOutboxRepository outboxRepository,
+            NotificationRepository notificationRepository,
+            UserRepository userRepository,
+            PushDispatcher pushDispatcher,
+            RealtimeEventPublisher eventPublisher,
+            UnreadCounterService unreadCounterService,
+            PlatformTransactionManager transactionManager,
+            @Value("${jufa.notifications.outbox.batch-size:200}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.pushDispatcher = pushDispatcher;
+        this.eventPublisher = eventPublisher;
+        this.unreadCounterService = unreadCounterService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${jufa.notifications.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        requestDrain();
+    }
+
+    public void requestDrain() {
+        if (!drainRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            drainer.execute(() -> {
+                drainRequested.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            drainRequested.set(false);
+            log.debug("Notification outbox drain ignored during shutdown");
+        }
+    }
+
+    void drain() {
+        try {
+            int drained;
+            do {
+                drained = drainBatch();
+            } while (drained == batchSize);
+        } catch (Exception e) {
+            log.error("Notification outbox drain failed: {}", e.getMessage());
+        }
+    }
+
+    private int drainBatch() {
+        DrainedBatch batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.size() == 0) {
+            return 0;
+        }
+        if (!batch.pushes().isEmpty()) {
+            pushDispatcher.enqueue(batch.pushes());
+        }
+        unreadCounterService.added(batch.addedByUser());
+        eventPublisher.publish(batch.events());
+        return batch.size();
+    }
+
+    private DrainedBatch claimBatch() {
+        List<NotificationOutbox> entries = outboxRepository.findBatchForUpdate(PageRequest.of(0, batchSize));
+        if (entries.isEmpty()) {
+            return new DrainedBatch(0, Map.of(), List.of(), List.of());
+        }
+
+        Map<UUID, Long> addedByUser = entries.stream()
+                .collect(Collectors.groupingBy(NotificationOutbox::getUserId, Collectors.counting()));
+        Map<UUID, String> tokens = userRepository.findFcmTokensByIdIn(addedByUser.keySet()).stream()
+                .collect(Collectors.toMap(UserFcmToken::userId, UserFcmToken::fcmToken));
+
+        List<Notification> notifications = new ArrayList<>(entries.size());
+        for (NotificationOutbox entry : entries) {
+            notifications.add(Notification.builder()
+                    .user(userRepository.getReferenceById(entry.getUserId()))
+                    .type(entry.getType())
+                    .title(entry.getTitle())
+                    .body(entry.getBody())
+                    .data(entry.getData())
+                    .referenceId(entry.getReferenceId())
+                    .build());
+        }
+        notificationRepository.saveAll(notifications);
+        outboxRepository.deleteAllInBatch(entries);
+
+        List<PushMessage> pushes = new ArrayList<>();
+        List<RealtimeEvent> events = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            NotificationOutbox entry = entries.get(i);
+            events.add(new RealtimeEvent(entry.getUserId(), RealtimeEvent.NOTIFICATION,
+                    NotificationResponse.fromEntity(notifications.get(i))));
+            String token = tokens.get(entry.getUserId());
+            if (token == null) {
+                continue;
+            }
+            pushes.add(new PushMessage(entry.getUserId(), token, entry.getTitle(), entry.getBody(),
+                    entry.getData() != null ? entry.getData() : Map.of(), List.of(notifications.get(i).getId())));
+        }
+        return new DrainedBatch(entries.size(), addedByUser, pushes, events);
+    }
+
+    @Override
+    public void destroy() {
+        drainer.shutdown();
+    }
+
+    private record DrainedBatch(int size, Map<UUID, Long> addedByUser, List<PushMessage> pushes,
+                                List<RealtimeEvent> events) {
+    }
+}
@@ -1,6 +1,8 @@
 package ml.jufa.backend.notification.service;
 
 import lombok.RequiredArgsConstructor;
+import ml.jufa.backend.common.dto.Cursor;
+import ml.jufa.backend.common.dto.CursorPage;
 import ml.jufa.backend.common.exception.JufaException;
 import ml.jufa.backend.notification.dto.NotificationResponse;
 import ml.jufa.backend.notification.entity.Notification;
@@ -20,6 +22,7 @@ import java.util.stream.Collectors;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final UnreadCounterService unreadCounterService;
 
     public List<NotificationResponse> getNotifications(User user, int page, int size, Boolean unreadOnly) {
         PageRequest pageRequest = PageRequest.of(page, size);
@@ -36,8 +39,16 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<NotificationResponse> getNotifications(User user, String cursor, int size) {
+        Cursor position = Cursor.decode(cursor);
+        return CursorPage.from(
+                notificationRepository.findByUserBefore(user, position.createdAt(), position.id(),
+                        PageRequest.of(0, Cursor.clampSize(size))),
+                NotificationResponse::fromEntity);
+    }
+
     public long getUnreadCount(User user) {
-        return notificationRepository.countByUserAndRead(user, false);
+        return unreadCounterService.get(user);
     }
 
     @Transactional
@@ -49,14 +60,19 @@ public class NotificationService {
             throw new JufaException("JUFA-NOTIF-002", "Not authorized to access this notification");
         }
 
-        notification.markAsRead();
-        notification = notificationRepository.save(notification);
+        if (!notification.isRead()) {
+            notification.markAsRead();
+            notification = notificationRepository.save(notification);
+            unreadCounterService.read(user.getId());
+        }
 
         return NotificationResponse.fromEntity(notification);
     }
 
     @Transactional
     public int markAllAsRead(User user) {
-        return notificationRepository.markAllAsRead(user);
+        int updated = notificationRepository.markAllAsRead(user);
+        unreadCounterService.cleared(user.getId());
+        return updated;
     }
 }
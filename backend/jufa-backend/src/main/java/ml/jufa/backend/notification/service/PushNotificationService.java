@@ -1,45 +1,36 @@
 package ml.jufa.backend.notification.service;
 
-import com.google.firebase.messaging.*;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ml.jufa.backend.notification.entity.Notification;
+import ml.jufa.backend.notification.entity.NotificationOutbox;
 import ml.jufa.backend.notification.entity.NotificationType;
-import ml.jufa.backend.notification.repository.NotificationRepository;
+import ml.jufa.backend.notification.repository.NotificationOutboxRepository;
+import ml.jufa.backend.security.principal.UserPrincipalCache;
 import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.user.repository.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.text.NumberFormat;
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class PushNotificationService {
 
-    private final NotificationRepository notificationRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationOutboxDispatcher outboxDispatcher;
     private final UserRepository userRepository;
-    private final FirebaseMessaging firebaseMessaging;
+    private final UserPrincipalCache userPrincipalCache;
 
     private final NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(Locale.FRANCE);
 
-    @Autowired
-    public PushNotificationService(
-            NotificationRepository notificationRepository,
-            UserRepository userRepository,
-            @Autowired(required = false) FirebaseMessaging firebaseMessaging) {
-        this.notificationRepository = notificationRepository;
-        this.userRepository = userRepository;
-        this.firebaseMessaging = firebaseMessaging;
-    }
-
-    @Async
     @Transactional
     public void sendTransactionReceived(User receiver, BigDecimal amount, String senderPhone, String transactionRef) {
         String formattedAmount = formatAmount(amount);
@@ -54,7 +45,6 @@ public class PushNotificationService {
         sendNotification(receiver, NotificationType.TRANSACTION_RECEIVED, title, body, data, transactionRef);
     }
 
-    @Async
     @Transactional
     public void sendTransactionSent(User sender, BigDecimal amount, String receiverPhone, String transactionRef) {
         String formattedAmount = formatAmount(amount);
@@ -69,7 +59,6 @@ public class PushNotificationService {
         sendNotification(sender, NotificationType.TRANSACTION_SENT, title, body, data, transactionRef);
     }
 
-    @Async
     @Transactional
     public void sendTransactionFailed(User user, BigDecimal amount, String reason, String transactionRef) {
         String formattedAmount = formatAmount(amount);
@@ -83,7 +72,6 @@ public class PushNotificationService {
         sendNotification(user, NotificationType.TRANSACTION_FAILED, title, body, data, transactionRef);
     }
 
-    @Async
     @Transactional
     public void sendKycApproved(User user, String kycLevel) {
         String title = "KYC Approuvé";
@@ -96,7 +84,6 @@ public class PushNotificationService {
         sendNotification(user, NotificationType.KYC_APPROVED, title, body, data, null);
     }
 
-    @Async
     @Transactional
     public void sendKycRejected(User user, String reason) {
         String title = "Document KYC rejeté";
@@ -108,7 +95,6 @@ public class PushNotificationService {
         sendNotification(user, NotificationType.KYC_REJECTED, title, body, data, null);
     }
 
-    @Async
     @Transactional
     public void sendLimitWarning(User user, BigDecimal usedAmount, BigDecimal limit, int percentUsed) {
         String title = "Alerte limite";
@@ -122,7 +108,6 @@ public class PushNotificationService {
         sendNotification(user, NotificationType.LIMIT_WARNING, title, body, data, null);
     }
 
-    @Async
     @Transactional
     public void sendQrPaymentReceived(User merchant, BigDecimal amount, String payerPhone, String paymentId) {
         String formattedAmount = formatAmount(amount);
@@ -137,7 +122,6 @@ public class PushNotificationService {
         sendNotification(merchant, NotificationType.QR_PAYMENT_RECEIVED, title, body, data, paymentId);
     }
 
-    @Async
     @Transactional
     public void sendMerchantRelationRequest(User retailer, String wholesalerName) {
         String title = "Nouvelle demande de partenariat";
@@ -152,80 +136,32 @@ public class PushNotificationService {
 
     private void sendNotification(User user, NotificationType type, String title, String body, 
                                    Map<String, String> data, String referenceId) {
-        Notification notification = Notification.builder()
-                .user(user)
+        NotificationOutbox entry = NotificationOutbox.builder()
+                .userId(user.getId())
                 .type(type)
                 .title(title)
                 .body(body)
-                .data(data != null ? data.toString() : null)
+                .data(data)
                 .referenceId(referenceId)
                 .build();
 
-        notification = notificationRepository.save(notification);
-
-        if (user.getFcmToken() != null && !user.getFcmToken().isEmpty()) {
-            sendPushNotification(user.getFcmToken(), title, body, data, notification);
-        } else {
-            log.debug("No FCM token for user {}, notification saved to DB only", user.getPhone());
-        }
-    }
-
-    private void sendPushNotification(String fcmToken, String title, String body,
-                                       Map<String, String> data, Notification notification) {
-        if (firebaseMessaging == null) {
-            log.info("[FCM MOCK] Push notification: {} - {}", title, body);
-            notification.setPushSent(true);
-            notification.setPushSentAt(LocalDateTime.now());
-            notificationRepository.save(notification);
-            return;
-        }
+        outboxRepository.save(entry);
 
-        try {
-            Message message = Message.builder()
-                    .setToken(fcmToken)
-                    .setNotification(com.google.firebase.messaging.Notification.builder()
-                            .setTitle(title)
-                            .setBody(body)
-                            .build())
-                    .putAllData(data != null ? data : new HashMap<>())
-                    .setAndroidConfig(AndroidConfig.builder()
-                            .setPriority(AndroidConfig.Priority.HIGH)
-                            .setNotification(AndroidNotification.builder()
-                                    .setClickAction("FLUTTER_NOTIFICATION_CLICK")
-                                    .setSound("default")
-                                    .build())
-                            .build())
-                    .setApnsConfig(ApnsConfig.builder()
-                            .setAps(Aps.builder()
-                                    .setSound("default")
-                                    .setBadge(1)
-                                    .build())
-                            .build())
-                    .build();
-
-            String response = firebaseMessaging.send(message);
-            log.info("Push notification sent successfully: {}", response);
-
-            notification.setPushSent(true);
-            notification.setPushSentAt(LocalDateTime.now());
-            notificationRepository.save(notification);
-
-        } catch (FirebaseMessagingException e) {
-            log.error("Failed to send push notification: {}", e.getMessage());
-            if (e.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED) {
-                log.info("Clearing invalid FCM token for user");
-                User user = notification.getUser();
-                user.setFcmToken(null);
-                userRepository.save(user);
-            }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxDispatcher.requestDrain();
+                }
+            });
         }
     }
 
     @Transactional
-    public void registerFcmToken(User user, String fcmToken) {
-        user.setFcmToken(fcmToken);
-        userRepository.save(user);
-        log.info("FCM token registered for user {}", user.getPhone());
+    public void registerFcmToken(User principal, String fcmToken) {
+        userRepository.updateFcmToken(principal.getId(), fcmToken);
+        userPrincipalCache.evict(principal.getId());
+        log.info("FCM token registered for user {}", principal.getPhone());
     }
 
     private String formatAmount(BigDecimal amount) {
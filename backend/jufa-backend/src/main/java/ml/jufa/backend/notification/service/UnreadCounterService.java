@@ -0,0 +1,76 @@
+package ml.jufa.backend.notification.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.notification.counter.UnreadCounterStore;
+import ml.jufa.backend.notification.repository.NotificationRepository;
+import ml.jufa.backend.user.entity.User;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadCounterService {
+
+    private final UnreadCounterStore counterStore;
+    private final NotificationRepository notificationRepository;
+
+    public long get(User user) {
+        OptionalLong cached = lookup(user.getId());
+        if (cached.isPresent()) {
+            return cached.getAsLong();
+        }
+
+        long count = notificationRepository.countByUserAndRead(user, false);
+        afterCommit(() -> counterStore.setIfAbsent(user.getId(), count));
+        return count;
+    }
+
+    public void added(Map<UUID, Long> addedByUser) {
+        afterCommit(() -> addedByUser.forEach(counterStore::adjustIfPresent));
+    }
+
+    public void read(UUID userId) {
+        afterCommit(() -> counterStore.adjustIfPresent(userId, -1));
+    }
+
+    public void cleared(UUID userId) {
+        afterCommit(() -> counterStore.set(userId, 0));
+    }
+
+    private OptionalLong lookup(UUID userId) {
+        try {
+            return counterStore.get(userId);
+        } catch (Exception e) {
+            log.warn("Unread counter lookup failed for user {}: {}", userId, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private void apply(Runnable update) {
+        try {
+            update.run();
+        } catch (Exception e) {
+            log.warn("Unread counter update failed: {}", e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,9 @@ package ml.jufa.backend.qrpayment.repository;
 import ml.jufa.backend.qrpayment.entity.QrCode;
 import ml.jufa.backend.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,4 +22,8 @@ public interface QrCodeRepository extends JpaRepository<QrCode, UUID> {
     List<QrCode> findByMerchantOrderByCreatedAtDesc(User merchant);
 
     boolean existsByQrToken(String qrToken);
+
+    @Modifying
+    @Query("UPDATE QrCode q SET q.scanCount = COALESCE(q.scanCount, 0) + :scans WHERE q.id = :id")
+    int addScans(@Param("id") UUID id, @Param("scans") int scans);
 }
@@ -0,0 +1,47 @@
+package ml.jufa.backend.qrpayment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ml.jufa.backend.qrpayment.repository.QrCodeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+public class QrCodeCache {
+
+    private final QrCodeRepository qrCodeRepository;
+    private final Cache<String, QrCodeSnapshot> snapshots;
+
+    public QrCodeCache(
+            QrCodeRepository qrCodeRepository,
+            @Value("${jufa.qr.cache.max-entries:50000}") long maxEntries,
+            @Value("${jufa.qr.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.qrCodeRepository = qrCodeRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Optional<QrCodeSnapshot> find(String qrToken) {
+        return Optional.ofNullable(snapshots.get(qrToken, token ->
+                qrCodeRepository.findByQrToken(token).map(QrCodeSnapshot::of).orElse(null)));
+    }
+
+    public void evict(String qrToken) {
+        snapshots.invalidate(qrToken);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    snapshots.invalidate(qrToken);
+                }
+            });
+        }
+    }
+}
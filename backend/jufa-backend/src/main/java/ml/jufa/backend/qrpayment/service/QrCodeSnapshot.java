@@ -0,0 +1,64 @@
+package ml.jufa.backend.qrpayment.service;
+
+import ml.jufa.backend.qrpayment.dto.QrCodeResponse;
+import ml.jufa.backend.qrpayment.entity.QrCode;
+import ml.jufa.backend.qrpayment.entity.QrCodeType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record QrCodeSnapshot(
+        UUID id,
+        String qrToken,
+        QrCodeType qrType,
+        BigDecimal amount,
+        String description,
+        LocalDateTime expiresAt,
+        boolean active,
+        Integer scanCount,
+        LocalDateTime createdAt,
+        UUID merchantId,
+        String merchantPhone,
+        String merchantBusinessName) {
+
+    public static QrCodeSnapshot of(QrCode qrCode) {
+        QrCodeResponse response = QrCodeResponse.fromEntity(qrCode);
+        return new QrCodeSnapshot(
+                response.getId(),
+                response.getQrToken(),
+                response.getQrType(),
+                response.getAmount(),
+                response.getDescription(),
+                response.getExpiresAt(),
+                Boolean.TRUE.equals(response.getActive()),
+                response.getScanCount(),
+                response.getCreatedAt(),
+                response.getMerchant().getId(),
+                response.getMerchant().getPhone(),
+                response.getMerchant().getBusinessName());
+    }
+
+    public boolean isValid() {
+        return active && (expiresAt == null || !LocalDateTime.now().isAfter(expiresAt));
+    }
+
+    public QrCodeResponse toResponse() {
+        return QrCodeResponse.builder()
+                .id(id)
+                .qrToken(qrToken)
+                .qrType(qrType)
+                .amount(amount)
+                .description(description)
+                .expiresAt(expiresAt)
+                .active(active)
+                .scanCount(scanCount)
+                .merchant(QrCodeResponse.MerchantInfo.builder()
+                        .id(merchantId)
+                        .phone(merchantPhone)
+                        .businessName(merchantBusinessName)
+                        .build())
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -31,6 +31,8 @@ public class QrPaymentService {
     private final QrCodeRepository qrCodeRepository;
     private final QrPaymentRepository qrPaymentRepository;
     private final TransactionService transactionService;
+    private final QrCodeCache qrCodeCache;
+    private final QrScanCounters qrScanCounters;
     private static final SecureRandom secureRandom = new SecureRandom();
 
     @Transactional
@@ -60,17 +62,16 @@ public class QrPaymentService {
     }
 
     public QrCodeResponse getQrCodeInfo(String qrToken) {
-        QrCode qrCode = qrCodeRepository.findByQrToken(qrToken)
+        QrCodeSnapshot qrCode = qrCodeCache.find(qrToken)
                 .orElseThrow(() -> new JufaException("JUFA-QR-001", "QR code not found"));
 
         if (!qrCode.isValid()) {
             throw new JufaException("JUFA-QR-002", "QR code is expired or inactive");
         }
 
-        qrCode.incrementScanCount();
-        qrCodeRepository.save(qrCode);
+        qrScanCounters.recordScan(qrCode.id());
 
-        return QrCodeResponse.fromEntity(qrCode);
+        return qrCode.toResponse();
     }
 
     @Transactional
@@ -122,6 +123,7 @@ public class QrPaymentService {
             if (qrCode.getQrType() == QrCodeType.DYNAMIC) {
                 qrCode.setActive(false);
                 qrCodeRepository.save(qrCode);
+                qrCodeCache.evict(qrCode.getQrToken());
             }
 
             log.info("QR payment completed: {} -> {} for {} XOF", 
@@ -165,6 +167,7 @@ public class QrPaymentService {
 
         qrCode.setActive(false);
         qrCodeRepository.save(qrCode);
+        qrCodeCache.evict(qrCode.getQrToken());
 
         log.info("QR code deactivated: {}", qrCodeId);
     }
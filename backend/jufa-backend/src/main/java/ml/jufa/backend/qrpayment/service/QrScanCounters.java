@@ -0,0 +1,39 @@
+package ml.jufa.backend.qrpayment.service;
+
+import ml.jufa.backend.common.buffer.CounterBuffer;
+import ml.jufa.backend.common.buffer.CounterBufferManager;
+import ml.jufa.backend.common.buffer.CounterKey;
+import ml.jufa.backend.qrpayment.repository.QrCodeRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class QrScanCounters {
+
+    private final QrCodeRepository qrCodeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CounterBuffer buffer;
+
+    public QrScanCounters(
+            QrCodeRepository qrCodeRepository,
+            PlatformTransactionManager transactionManager,
+            CounterBufferManager bufferManager) {
+        this.qrCodeRepository = qrCodeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buffer = bufferManager.register("qr-scan", 1, this::flush);
+    }
+
+    public void recordScan(UUID qrCodeId) {
+        buffer.add(new CounterKey(qrCodeId, LocalDate.now()), 1L);
+    }
+
+    private void flush(Map<CounterKey, long[]> batch) {
+        transactionTemplate.executeWithoutResult(status ->
+                batch.forEach((key, values) -> qrCodeRepository.addScans(key.entityId(), Math.toIntExact(values[0]))));
+    }
+}
@@ -0,0 +1,36 @@
+package ml.jufa.backend.realtime.controller;
+
+import lombok.RequiredArgsConstructor;
+import ml.jufa.backend.common.dto.ApiResponse;
+import ml.jufa.backend.realtime.dto.EventPollResponse;
+import ml.jufa.backend.realtime.service.EventHub;
+import ml.jufa.backend.user.entity.User;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/v1/events")
+@RequiredArgsConstructor
+public class EventStreamController {
+
+    private static final int MAX_POLL_SECONDS = 60;
+
+    private final EventHub eventHub;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal User user) {
+        return eventHub.openStream(user.getId());
+    }
+
+    @GetMapping("/poll")
+    public DeferredResult<ApiResponse<EventPollResponse>> poll(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "25") int timeoutSeconds,
+            @AuthenticationPrincipal User user) {
+        int timeout = Math.max(1, Math.min(timeoutSeconds, MAX_POLL_SECONDS));
+        return eventHub.poll(user.getId(), since, timeout * 1000L);
+    }
+}
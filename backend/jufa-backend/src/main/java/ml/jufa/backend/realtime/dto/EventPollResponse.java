@@ -0,0 +1,8 @@
+package ml.jufa.backend.realtime.dto;
+
+import ml.jufa.backend.realtime.service.RealtimeEvent;
+
+import java.util.List;
+
+public record EventPollResponse(String cursor, boolean gap, List<RealtimeEvent> events) {
+}
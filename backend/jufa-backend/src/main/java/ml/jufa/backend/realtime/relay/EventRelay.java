@@ -0,0 +1,8 @@
+package ml.jufa.backend.realtime.relay;
+
+import ml.jufa.backend.realtime.service.RealtimeEvent;
+
+public interface EventRelay {
+
+    void publish(RealtimeEvent event);
+}
@@ -0,0 +1,20 @@
+package ml.jufa.backend.realtime.relay;
+
+import lombok.RequiredArgsConstructor;
+import ml.jufa.backend.realtime.service.EventHub;
+import ml.jufa.backend.realtime.service.RealtimeEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "jufa.realtime.relay", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LocalEventRelay implements EventRelay {
+
+    private final EventHub eventHub;
+
+    @Override
+    public void publish(RealtimeEvent event) {
+        eventHub.deliver(event);
+    }
+}
@@ -0,0 +1,269 @@
+package ml.jufa.backend.realtime.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import ml.jufa.backend.common.dto.ApiResponse;
+import ml.jufa.backend.common.exception.TooManyRequestsException;
+import ml.jufa.backend.realtime.dto.EventPollResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class EventHub {
+
+    private final ConcurrentMap<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Cache<UUID, PollBuffer> pollBuffers;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final long streamTimeoutMs;
+    private final int maxConnectionsPerUser;
+    private final int pollBufferSize;
+
+    public EventHub(
+            MeterRegistry meterRegistry,
+            @Value("${jufa.realtime.stream-timeout-ms:1800000}") long streamTimeoutMs,
+            @Value("${jufa.realtime.max-connections-per-user:5}") int maxConnectionsPerUser,
+            @Value("${jufa.realtime.poll-buffer-size:50}") int pollBufferSize,
+            @Value("${jufa.realtime.poll-buffer-ttl-ms:120000}") long pollBufferTtlMs) {
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.pollBufferSize = pollBufferSize;
+        this.pollBuffers = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(pollBufferTtlMs))
+                .build();
+        Gauge.builder("jufa.realtime.connections", connections, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter openStream(UUID userId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        StreamSubscriber subscriber = new StreamSubscriber(emitter);
+        register(userId, subscriber);
+        emitter.onCompletion(() -> unregister(userId, subscriber));
+        emitter.onTimeout(() -> unregister(userId, subscriber));
+        emitter.onError(error -> unregister(userId, subscriber));
+
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            unregister(userId, subscriber);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public DeferredResult<ApiResponse<EventPollResponse>> poll(UUID userId, String since, long timeoutMs) {
+        DeferredResult<ApiResponse<EventPollResponse>> result = new DeferredResult<>(timeoutMs);
+        PollBuffer buffer = pollBuffers.get(userId, id -> new PollBuffer(pollBufferSize));
+
+        synchronized (buffer) {
+            Cursor cursor = Cursor.parse(since);
+            boolean gap = cursor != null && !buffer.covers(cursor);
+            List<RealtimeEvent> missed = cursor != null && !gap ? buffer.after(cursor.sequence()) : List.of();
+
+            if (!missed.isEmpty() || (gap && cursor.epoch() == buffer.epoch)) {
+                List<RealtimeEvent> events = gap ? buffer.after(0) : missed;
+                result.setResult(ApiResponse.success(
+                        new EventPollResponse(buffer.cursor().toString(), gap, events)));
+                return result;
+            }
+
+            PollSubscriber subscriber = new PollSubscriber(result, buffer.epoch, gap);
+            register(userId, subscriber);
+            String idleCursor = buffer.cursor().toString();
+            result.onTimeout(() -> result.setResult(ApiResponse.success(
+                    new EventPollResponse(idleCursor, gap, List.of()))));
+            result.onCompletion(() -> unregister(userId, subscriber));
+        }
+        return result;
+    }
+
+    public void deliver(RealtimeEvent event) {
+        PollBuffer buffer = pollBuffers.policy().getIfPresentQuietly(event.userId());
+        long sequence = buffer != null ? buffer.append(event) : 0;
+
+        Set<Subscriber> userSubscribers = subscribers.get(event.userId());
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            if (!subscriber.deliver(event, sequence)) {
+                unregister(event.userId(), subscriber);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jufa.realtime.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach((userId, userSubscribers) -> {
+            for (Subscriber subscriber : userSubscribers) {
+                if (!subscriber.heartbeat()) {
+                    unregister(userId, subscriber);
+                }
+            }
+        });
+    }
+
+    private void register(UUID userId, Subscriber subscriber) {
+        subscribers.compute(userId, (id, existing) -> {
+            Set<Subscriber> userSubscribers = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            if (userSubscribers.size() >= maxConnectionsPerUser) {
+                throw new TooManyRequestsException("JUFA-RT-001", "Too many open event streams");
+            }
+            userSubscribers.add(subscriber);
+            return userSubscribers;
+        });
+        connections.incrementAndGet();
+    }
+
+    private void unregister(UUID userId, Subscriber subscriber) {
+        subscribers.computeIfPresent(userId, (id, userSubscribers) -> {
+            if (userSubscribers.remove(subscriber)) {
+                connections.decrementAndGet();
+            }
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private interface Subscriber {
+
+        boolean deliver(RealtimeEvent event, long sequence);
+
+        boolean heartbeat();
+    }
+
+    private static final class StreamSubscriber implements Subscriber {
+
+        private final SseEmitter emitter;
+
+        private StreamSubscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public boolean deliver(RealtimeEvent event, long sequence) {
+            return send(SseEmitter.event().name(event.type()).data(event.payload(), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public boolean heartbeat() {
+            return send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+
+    private static final class PollSubscriber implements Subscriber {
+
+        private final DeferredResult<ApiResponse<EventPollResponse>> result;
+        private final long epoch;
+        private final boolean gap;
+
+        private PollSubscriber(DeferredResult<ApiResponse<EventPollResponse>> result, long epoch, boolean gap) {
+            this.result = result;
+            this.epoch = epoch;
+            this.gap = gap;
+        }
+
+        @Override
+        public boolean deliver(RealtimeEvent event, long sequence) {
+            result.setResult(ApiResponse.success(new EventPollResponse(
+                    new Cursor(epoch, sequence).toString(), gap || sequence == 0, List.of(event))));
+            return false;
+        }
+
+        @Override
+        public boolean heartbeat() {
+            return !result.isSetOrExpired();
+        }
+    }
+
+    private static final class PollBuffer {
+
+        private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        private final ArrayDeque<BufferedEvent> events;
+        private final int capacity;
+        private long lastSequence;
+
+        private PollBuffer(int capacity) {
+            this.capacity = capacity;
+            this.events = new ArrayDeque<>(capacity);
+        }
+
+        synchronized long append(RealtimeEvent event) {
+            lastSequence++;
+            events.addLast(new BufferedEvent(lastSequence, event));
+            if (events.size() > capacity) {
+                events.removeFirst();
+            }
+            return lastSequence;
+        }
+
+        synchronized boolean covers(Cursor cursor) {
+            return cursor.epoch() == epoch
+                    && cursor.sequence() <= lastSequence
+                    && cursor.sequence() >= lastSequence - events.size();
+        }
+
+        synchronized List<RealtimeEvent> after(long sequence) {
+            return events.stream()
+                    .filter(buffered -> buffered.sequence() > sequence)
+                    .map(BufferedEvent::event)
+                    .toList();
+        }
+
+        synchronized Cursor cursor() {
+            return new Cursor(epoch, lastSequence);
+        }
+    }
+
+    private record BufferedEvent(long sequence, RealtimeEvent event) {
+    }
+
+    private record Cursor(long epoch, long sequence) {
+
+        static Cursor parse(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            int separator = value.indexOf(':');
+            try {
+                return separator > 0
+                        ? new Cursor(Long.parseLong(value.substring(0, separator)),
+                                Long.parseLong(value.substring(separator + 1)))
+                        : new Cursor(0, 0);
+            } catch (NumberFormatException e) {
+                return new Cursor(0, 0);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return epoch + ":" + sequence;
+        }
+    }
+}
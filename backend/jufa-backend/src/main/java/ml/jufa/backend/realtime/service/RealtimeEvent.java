@@ -0,0 +1,9 @@
+package ml.jufa.backend.realtime.service;
+
+import java.util.UUID;
+
+public record RealtimeEvent(UUID userId, String type, Object payload) {
+
+    public static final String WALLET_BALANCE = "wallet.balance";
+    public static final String NOTIFICATION = "notification";
+}
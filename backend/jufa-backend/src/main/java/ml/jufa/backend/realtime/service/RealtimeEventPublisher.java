@@ -0,0 +1,26 @@
+package ml.jufa.backend.realtime.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.realtime.relay.EventRelay;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RealtimeEventPublisher {
+
+    private final EventRelay eventRelay;
+
+    public void publish(List<RealtimeEvent> events) {
+        for (RealtimeEvent event : events) {
+            try {
+                eventRelay.publish(event);
+            } catch (Exception e) {
+                log.warn("Realtime event {} for user {} not published: {}", event.type(), event.userId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package ml.jufa.backend.security.filter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ml.jufa.backend.security.jwt.JwtTokenProvider;
+import ml.jufa.backend.security.principal.ClaimsPrincipals;
+import ml.jufa.backend.security.principal.UserPrincipalCache;
+import ml.jufa.backend.security.revocation.TokenRevocationService;
 import ml.jufa.backend.user.entity.User;
-import ml.jufa.backend.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -17,15 +20,28 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean claimsOnly;
+
+    public JwtAuthenticationFilter(
+            JwtTokenProvider jwtTokenProvider,
+            UserPrincipalCache userPrincipalCache,
+            TokenRevocationService tokenRevocationService,
+            @Value("${jufa.security.principal-mode:entity}") String principalMode) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userPrincipalCache = userPrincipalCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.claimsOnly = "claims".equalsIgnoreCase(principalMode);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -33,17 +49,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         try {
             String jwt = getJwtFromRequest(request);
-            
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String tokenType = jwtTokenProvider.getTokenType(jwt);
-                
-                if (!"access".equals(tokenType)) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-                
-                String userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                User user = userRepository.findById(UUID.fromString(userId)).orElse(null);
+            Claims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.parseClaims(jwt).orElse(null) : null;
+
+            if (claims != null && "access".equals(claims.get("type", String.class))
+                    && !tokenRevocationService.isRevoked(claims)) {
+                User user = resolvePrincipal(claims);
                 
                 if (user != null && user.isEnabled()) {
                     UsernamePasswordAuthenticationToken authentication = 
@@ -59,6 +69,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private User resolvePrincipal(Claims claims) {
+        if (claimsOnly) {
+            Optional<User> principal = ClaimsPrincipals.toUser(claims);
+            if (principal.isPresent()) {
+                return principal.get();
+            }
+        }
+        return userPrincipalCache.find(UUID.fromString(claims.getSubject())).orElse(null);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
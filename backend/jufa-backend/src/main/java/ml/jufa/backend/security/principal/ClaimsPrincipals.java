@@ -0,0 +1,34 @@
+package ml.jufa.backend.security.principal;
+
+import io.jsonwebtoken.Claims;
+import ml.jufa.backend.user.entity.KycLevel;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.user.entity.UserStatus;
+import ml.jufa.backend.user.entity.UserType;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public final class ClaimsPrincipals {
+
+    private ClaimsPrincipals() {
+    }
+
+    public static Optional<User> toUser(Claims claims) {
+        String phone = claims.get("phone", String.class);
+        String userType = claims.get("userType", String.class);
+        String kycLevel = claims.get("kycLevel", String.class);
+        if (phone == null || userType == null || kycLevel == null) {
+            return Optional.empty();
+        }
+
+        User user = User.builder()
+                .phone(phone)
+                .userType(UserType.valueOf(userType))
+                .kycLevel(KycLevel.valueOf(kycLevel))
+                .status(UserStatus.ACTIVE)
+                .build();
+        user.setId(UUID.fromString(claims.getSubject()));
+        return Optional.of(user);
+    }
+}
@@ -0,0 +1,66 @@
+package ml.jufa.backend.security.principal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, User> users;
+
+    public UserPrincipalCache(
+            UserRepository userRepository,
+            @Value("${jufa.security.principal-cache.max-entries:100000}") long maxEntries,
+            @Value("${jufa.security.principal-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Optional<User> find(UUID userId) {
+        return Optional.ofNullable(users.get(userId, id -> userRepository.findById(id).orElse(null)))
+                .map(UserPrincipalCache::copyOf);
+    }
+
+    public void evict(UUID userId) {
+        users.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private static User copyOf(User user) {
+        User copy = User.builder()
+                .phone(user.getPhone())
+                .email(user.getEmail())
+                .passwordHash(user.getPasswordHash())
+                .pinHash(user.getPinHash())
+                .userType(user.getUserType())
+                .status(user.getStatus())
+                .kycLevel(user.getKycLevel())
+                .fcmToken(user.getFcmToken())
+                .build();
+        copy.setId(user.getId());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+}
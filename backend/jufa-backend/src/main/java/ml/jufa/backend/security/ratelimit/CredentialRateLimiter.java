@@ -0,0 +1,66 @@
+package ml.jufa.backend.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.common.exception.TooManyRequestsException;
+import ml.jufa.backend.common.util.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+@Component
+@Slf4j
+public class CredentialRateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final int phonePerMinute;
+    private final int ipPerMinute;
+
+    public CredentialRateLimiter(
+            @Value("${jufa.security.rate-limit.phone-per-minute:5}") int phonePerMinute,
+            @Value("${jufa.security.rate-limit.ip-per-minute:30}") int ipPerMinute,
+            @Value("${jufa.security.rate-limit.max-keys:200000}") long maxKeys) {
+        this.phonePerMinute = phonePerMinute;
+        this.ipPerMinute = ipPerMinute;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public void check(String phone) {
+        String ip = clientIp();
+        if (ip != null && !acquire("ip:" + ip, ipPerMinute)) {
+            log.warn("Credential rate limit reached for ip {}", ip);
+            throw limited();
+        }
+        if (phone != null && !acquire("phone:" + phone, phonePerMinute)) {
+            log.warn("Credential rate limit reached for phone {}", phone);
+            throw limited();
+        }
+    }
+
+    private boolean acquire(String key, int perMinute) {
+        if (perMinute <= 0) {
+            return true;
+        }
+        return buckets.get(key, k -> new TokenBucket(perMinute, Duration.ofMinutes(1))).tryAcquire(System.nanoTime());
+    }
+
+    private static String clientIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private static TooManyRequestsException limited() {
+        return new TooManyRequestsException("JUFA-AUTH-008", "Too many attempts, please try again later");
+    }
+}
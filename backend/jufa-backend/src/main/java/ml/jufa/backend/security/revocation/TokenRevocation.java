@@ -0,0 +1,28 @@
+package ml.jufa.backend.security.revocation;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ml.jufa.backend.common.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "token_revocations", indexes = {
+    @Index(name = "idx_token_revocation_expires", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation extends BaseEntity {
+
+    @Column(name = "token_id", nullable = false, unique = true, length = 64)
+    private String tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "issued_before")
+    private LocalDateTime issuedBefore;
+}
@@ -0,0 +1,114 @@
+package ml.jufa.backend.security.revocation;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private static final int MIN_EXPECTED_ENTRIES = 1024;
+    private static final String USER_PREFIX = "user:";
+
+    private final TokenRevocationRepository revocationRepository;
+    private final double falsePositiveRate;
+    private final Duration maxTokenLifetime;
+    private final Map<String, LocalDateTime> localRevocations = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(
+            TokenRevocationRepository revocationRepository,
+            @Value("${jufa.security.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+            @Value("${jwt.refresh-expiration}") long refreshExpirationMs) {
+        this.revocationRepository = revocationRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxTokenLifetime = Duration.ofMillis(refreshExpirationMs);
+        this.filter = new BloomFilter(MIN_EXPECTED_ENTRIES, falsePositiveRate);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null || revocationRepository.existsByTokenId(tokenId)) {
+            return;
+        }
+
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        revocationRepository.save(TokenRevocation.builder()
+                .tokenId(tokenId)
+                .expiresAt(expiry)
+                .build());
+
+        localRevocations.put(tokenId, expiry);
+        filter.put(tokenId);
+    }
+
+    @Transactional
+    public void revokeUser(UUID userId) {
+        String key = USER_PREFIX + userId;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiry = now.plus(maxTokenLifetime);
+
+        TokenRevocation revocation = revocationRepository.findByTokenId(key)
+                .orElseGet(() -> TokenRevocation.builder().tokenId(key).build());
+        revocation.setIssuedBefore(now.truncatedTo(ChronoUnit.SECONDS));
+        revocation.setExpiresAt(expiry);
+        revocationRepository.save(revocation);
+
+        localRevocations.put(key, expiry);
+        filter.put(key);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        return isTokenRevoked(claims.getId()) || isUserRevoked(claims.getSubject(), claims.getIssuedAt());
+    }
+
+    private boolean isTokenRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revocationRepository.existsByTokenIdAndExpiresAtAfter(tokenId, LocalDateTime.now());
+    }
+
+    private boolean isUserRevoked(String userId, Date issuedAt) {
+        String key = USER_PREFIX + userId;
+        if (userId == null || !filter.mightContain(key)) {
+            return false;
+        }
+        return revocationRepository.findByTokenIdAndExpiresAtAfter(key, LocalDateTime.now())
+                .map(TokenRevocation::getIssuedBefore)
+                .map(cutoff -> issuedAt == null
+                        || !LocalDateTime.ofInstant(issuedAt.toInstant(), ZoneId.systemDefault()).isAfter(cutoff))
+                .orElse(false);
+    }
+
+    @Scheduled(fixedDelayString = "${jufa.security.revocation.refresh-ms:30000}")
+    @Transactional
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        revocationRepository.deleteExpired(now);
+        List<String> tokenIds = revocationRepository.findActiveTokenIds(now);
+
+        BloomFilter next = new BloomFilter(Math.max(MIN_EXPECTED_ENTRIES, tokenIds.size() * 2), falsePositiveRate);
+        tokenIds.forEach(next::put);
+
+        localRevocations.values().removeIf(expiry -> expiry.isBefore(now));
+        localRevocations.keySet().forEach(next::put);
+
+        filter = next;
+        log.debug("Token revocation filter refreshed with {} entries", tokenIds.size());
+    }
+}
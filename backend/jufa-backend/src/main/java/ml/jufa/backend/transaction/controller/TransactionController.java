@@ -3,6 +3,7 @@ package ml.jufa.backend.transaction.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import ml.jufa.backend.common.dto.ApiResponse;
+import ml.jufa.backend.common.dto.CursorPage;
 import ml.jufa.backend.transaction.dto.TransactionResponse;
 import ml.jufa.backend.transaction.dto.TransferRequest;
 import ml.jufa.backend.transaction.service.TransactionService;
@@ -40,6 +41,15 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success(transactions));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<TransactionResponse>>> getHistoryByCursor(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<TransactionResponse> transactions = transactionService.getTransactionHistory(user, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(transactions));
+    }
+
     @GetMapping("/{transactionId}")
     public ResponseEntity<ApiResponse<TransactionResponse>> getTransaction(
             @PathVariable UUID transactionId,
@@ -4,12 +4,18 @@ import jakarta.persistence.*;
 import lombok.*;
 import ml.jufa.backend.common.entity.BaseEntity;
 import ml.jufa.backend.wallet.entity.Wallet;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transaction_sender_created", columnList = "sender_wallet_id, created_at DESC, id DESC"),
+    @Index(name = "idx_transaction_receiver_created", columnList = "receiver_wallet_id, created_at DESC, id DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -50,8 +56,8 @@ public class Transaction extends BaseEntity {
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @Column(columnDefinition = "TEXT")
-    private String metadata;
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, String> metadata;
 
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,8 +22,31 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
     
     Page<Transaction> findBySenderWalletOrReceiverWallet(Wallet sender, Wallet receiver, Pageable pageable);
     
-    @Query("SELECT t FROM Transaction t WHERE (t.senderWallet.id = :walletId OR t.receiverWallet.id = :walletId) ORDER BY t.createdAt DESC")
-    Page<Transaction> findByWalletId(@Param("walletId") UUID walletId, Pageable pageable);
+    @Query("SELECT t FROM Transaction t WHERE t.senderWallet.id = :walletId " +
+           "AND t.createdAt <= :createdAt AND (t.createdAt < :createdAt OR t.id < :id) ORDER BY t.createdAt DESC, t.id DESC")
+    List<Transaction> findSentBefore(
+        @Param("walletId") UUID walletId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") UUID id,
+        Pageable pageable
+    );
+    
+    @Query("SELECT t FROM Transaction t WHERE t.receiverWallet.id = :walletId " +
+           "AND (t.senderWallet IS NULL OR t.senderWallet.id <> :walletId) " +
+           "AND t.createdAt <= :createdAt AND (t.createdAt < :createdAt OR t.id < :id) ORDER BY t.createdAt DESC, t.id DESC")
+    List<Transaction> findReceivedBefore(
+        @Param("walletId") UUID walletId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") UUID id,
+        Pageable pageable
+    );
+    
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.senderWallet.id = :walletId")
+    long countSent(@Param("walletId") UUID walletId);
+    
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.receiverWallet.id = :walletId " +
+           "AND (t.senderWallet IS NULL OR t.senderWallet.id <> :walletId)")
+    long countReceived(@Param("walletId") UUID walletId);
     
     @Query("SELECT t FROM Transaction t WHERE (t.senderWallet.id = :walletId OR t.receiverWallet.id = :walletId) AND t.createdAt BETWEEN :from AND :to ORDER BY t.createdAt DESC")
     Page<Transaction> findByWalletIdAndDateRange(
@@ -2,7 +2,14 @@ package ml.jufa.backend.transaction.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.common.dto.Cursor;
+import ml.jufa.backend.common.dto.CursorPage;
 import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.common.util.ReferenceGenerator;
+import ml.jufa.backend.ledger.entity.LedgerAccount;
+import ml.jufa.backend.ledger.entity.LedgerEntryType;
+import ml.jufa.backend.ledger.service.LedgerMovement;
+import ml.jufa.backend.ledger.service.LedgerService;
 import ml.jufa.backend.notification.service.PushNotificationService;
 import ml.jufa.backend.transaction.dto.TransactionResponse;
 import ml.jufa.backend.transaction.dto.TransferRequest;
@@ -15,14 +22,21 @@ import ml.jufa.backend.user.repository.UserRepository;
 import ml.jufa.backend.wallet.entity.Wallet;
 import ml.jufa.backend.wallet.entity.WalletType;
 import ml.jufa.backend.wallet.repository.WalletRepository;
+import ml.jufa.backend.wallet.service.WalletLockService;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -31,11 +45,18 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final WalletRepository walletRepository;
+    private final LedgerService ledgerService;
     private final UserRepository userRepository;
     private final PushNotificationService pushNotificationService;
+    private final ReferenceGenerator referenceGenerator;
+    private final TransferFailureRecorder transferFailureRecorder;
 
     private static final BigDecimal TRANSFER_FEE_RATE = new BigDecimal("0.01");
     private static final BigDecimal MAX_FEE = new BigDecimal("5000");
+    private static final Comparator<Transaction> HISTORY_ORDER = Comparator
+        .comparing(Transaction::getCreatedAt)
+        .thenComparing(Transaction::getId, WalletLockService.LOCK_ORDER)
+        .reversed();
 
     @Transactional
     public TransactionResponse transfer(User sender, TransferRequest request) {
@@ -63,32 +84,27 @@ public class TransactionService {
         BigDecimal fee = calculateFee(request.getAmount());
         BigDecimal totalAmount = request.getAmount().add(fee);
 
-        if (senderWallet.getAvailableBalance().compareTo(totalAmount) < 0) {
+        if (senderWallet.getTotalAvailableBalance().compareTo(totalAmount) < 0) {
             throw new JufaException("JUFA-WALLET-005", "Insufficient balance");
         }
 
-        Wallet lockedSenderWallet = walletRepository.findWithLockById(senderWallet.getId())
-            .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet not found"));
-        Wallet lockedReceiverWallet = walletRepository.findWithLockById(receiverWallet.getId())
-            .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet not found"));
-
         Transaction transaction = Transaction.builder()
-            .reference(generateReference())
+            .reference(referenceGenerator.next("JUF"))
             .type(TransactionType.TRANSFER)
             .status(TransactionStatus.PROCESSING)
-            .senderWallet(lockedSenderWallet)
-            .receiverWallet(lockedReceiverWallet)
+            .senderWallet(senderWallet)
+            .receiverWallet(receiverWallet)
             .amount(request.getAmount())
             .fee(fee)
             .description(request.getDescription())
             .build();
 
         try {
-            lockedSenderWallet.debit(totalAmount);
-            lockedReceiverWallet.credit(request.getAmount());
-
-            walletRepository.save(lockedSenderWallet);
-            walletRepository.save(lockedReceiverWallet);
+            ledgerService.post(List.of(
+                LedgerMovement.walletToWallet(LedgerEntryType.TRANSFER, senderWallet.getId(),
+                    receiverWallet.getId(), request.getAmount(), transaction.getReference()),
+                LedgerMovement.walletToAccount(LedgerEntryType.FEE, senderWallet.getId(),
+                    LedgerAccount.FEE_REVENUE, fee, transaction.getReference())));
 
             transaction.complete();
             transactionRepository.save(transaction);
@@ -105,10 +121,7 @@ public class TransactionService {
 
         } catch (Exception e) {
             transaction.fail(e.getMessage());
-            transactionRepository.save(transaction);
-            
-            pushNotificationService.sendTransactionFailed(sender, request.getAmount(), 
-                e.getMessage(), transaction.getReference());
+            transferFailureRecorder.recordAfterRollback(transaction, sender, e.getMessage());
             
             throw new JufaException("JUFA-TX-003", "Transfer failed: " + e.getMessage());
         }
@@ -118,8 +131,20 @@ public class TransactionService {
         Wallet wallet = walletRepository.findByUserAndWalletType(user, getDefaultWalletType(user))
             .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet not found"));
 
-        return transactionRepository.findByWalletId(wallet.getId(), pageable)
-            .map(TransactionResponse::fromEntity);
+        return findWalletHistory(wallet.getId(), pageable);
+    }
+
+    public CursorPage<TransactionResponse> getTransactionHistory(User user, String cursor, int size) {
+        Wallet wallet = walletRepository.findByUserAndWalletType(user, getDefaultWalletType(user))
+            .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet not found"));
+
+        int pageSize = Cursor.clampSize(size);
+        List<Transaction> window = mergeHistory(wallet.getId(), Cursor.decode(cursor), pageSize + 1);
+        boolean hasNext = window.size() > pageSize;
+        List<Transaction> content = hasNext ? window.subList(0, pageSize) : window;
+
+        return CursorPage.from(new SliceImpl<>(content, PageRequest.of(0, pageSize), hasNext),
+            TransactionResponse::fromEntity);
     }
 
     public Page<TransactionResponse> getWalletTransactions(UUID walletId, User user, Pageable pageable) {
@@ -130,8 +155,7 @@ public class TransactionService {
             throw new JufaException("JUFA-WALLET-002", "Access denied");
         }
 
-        return transactionRepository.findByWalletId(walletId, pageable)
-            .map(TransactionResponse::fromEntity);
+        return findWalletHistory(walletId, pageable);
     }
 
     public TransactionResponse getTransaction(UUID transactionId, User user) {
@@ -166,6 +190,28 @@ public class TransactionService {
         return TransactionResponse.fromEntity(transaction);
     }
 
+    private Page<TransactionResponse> findWalletHistory(UUID walletId, Pageable pageable) {
+        List<Transaction> window = mergeHistory(walletId, Cursor.decode(null), (int) pageable.getOffset() + pageable.getPageSize());
+        List<TransactionResponse> content = window.stream()
+            .skip(pageable.getOffset())
+            .map(TransactionResponse::fromEntity)
+            .toList();
+
+        return new PageImpl<>(content, pageable,
+            transactionRepository.countSent(walletId) + transactionRepository.countReceived(walletId));
+    }
+
+    private List<Transaction> mergeHistory(UUID walletId, Cursor position, int limit) {
+        Pageable window = PageRequest.of(0, limit);
+        List<Transaction> sent = transactionRepository.findSentBefore(walletId, position.createdAt(), position.id(), window);
+        List<Transaction> received = transactionRepository.findReceivedBefore(walletId, position.createdAt(), position.id(), window);
+
+        return Stream.concat(sent.stream(), received.stream())
+            .sorted(HISTORY_ORDER)
+            .limit(limit)
+            .toList();
+    }
+
     private WalletType getDefaultWalletType(User user) {
         return switch (user.getUserType()) {
             case MERCHANT -> WalletType.B2B;
@@ -178,9 +224,4 @@ public class TransactionService {
         BigDecimal fee = amount.multiply(TRANSFER_FEE_RATE);
         return fee.compareTo(MAX_FEE) > 0 ? MAX_FEE : fee;
     }
-
-    private String generateReference() {
-        return "JUF" + System.currentTimeMillis() + 
-            String.format("%04d", (int)(Math.random() * 10000));
-    }
 }
@@ -0,0 +1,81 @@
+package ml.jufa.backend.transaction.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.notification.service.PushNotificationService;
+import ml.jufa.backend.transaction.entity.Transaction;
+import ml.jufa.backend.transaction.repository.TransactionRepository;
+import ml.jufa.backend.user.entity.User;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+@Component
+@Slf4j
+public class TransferFailureRecorder implements DisposableBean {
+
+    private final TransactionRepository transactionRepository;
+    private final PushNotificationService pushNotificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService recorder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transfer-failures");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TransferFailureRecorder(
+            TransactionRepository transactionRepository,
+            PushNotificationService pushNotificationService,
+            PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.pushNotificationService = pushNotificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void recordAfterRollback(Transaction transaction, User sender, String reason) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(transaction, sender, reason);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    submit(transaction, sender, reason);
+                }
+            }
+        });
+    }
+
+    private void submit(Transaction transaction, User sender, String reason) {
+        try {
+            recorder.execute(() -> record(transaction, sender, reason));
+        } catch (RejectedExecutionException e) {
+            log.warn("Failure of transfer {} not recorded during shutdown", transaction.getReference());
+        }
+    }
+
+    private void record(Transaction transaction, User sender, String reason) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                transactionRepository.save(transaction);
+                pushNotificationService.sendTransactionFailed(sender, transaction.getAmount(), reason,
+                        transaction.getReference());
+            });
+        } catch (Exception e) {
+            log.error("Failure of transfer {} not recorded: {}", transaction.getReference(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        recorder.shutdown();
+    }
+}
@@ -4,13 +4,17 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import ml.jufa.backend.common.dto.ApiResponse;
 import ml.jufa.backend.user.dto.UpdateProfileRequest;
+import ml.jufa.backend.user.dto.UpdateUserStatusRequest;
 import ml.jufa.backend.user.dto.UserResponse;
 import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.user.service.UserService;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/v1/users")
 @RequiredArgsConstructor
@@ -32,4 +36,13 @@ public class UserController {
         UserResponse response = userService.updateProfile(user, request);
         return ResponseEntity.ok(ApiResponse.success(response, "Profile updated successfully"));
     }
+
+    @PutMapping("/{userId}/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserResponse>> updateStatus(
+            @PathVariable UUID userId,
+            @Valid @RequestBody UpdateUserStatusRequest request) {
+        UserResponse response = userService.updateStatus(userId, request.getStatus());
+        return ResponseEntity.ok(ApiResponse.success(response, "User status updated"));
+    }
 }
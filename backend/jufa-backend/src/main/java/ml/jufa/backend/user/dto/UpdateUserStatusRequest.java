@@ -0,0 +1,12 @@
+package ml.jufa.backend.user.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import ml.jufa.backend.user.entity.UserStatus;
+
+@Data
+public class UpdateUserStatusRequest {
+    
+    @NotNull(message = "Status is required")
+    private UserStatus status;
+}
@@ -0,0 +1,6 @@
+package ml.jufa.backend.user.repository;
+
+import java.util.UUID;
+
+public record UserFcmToken(UUID userId, String fcmToken) {
+}
@@ -2,8 +2,15 @@ package ml.jufa.backend.user.repository;
 
 import ml.jufa.backend.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,9 +21,31 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     
     Optional<User> findByEmail(String email);
     
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<User> findWithLockById(UUID id);
+    
     boolean existsByPhone(String phone);
     
     boolean existsByEmail(String email);
     
     boolean existsByEmailAndIdNot(String email, UUID id);
+    
+    @Query("SELECT u.fcmToken FROM User u WHERE u.id = :id")
+    Optional<String> findFcmTokenById(@Param("id") UUID id);
+    
+    @Query("SELECT new ml.jufa.backend.user.repository.UserFcmToken(u.id, u.fcmToken) FROM User u " +
+           "WHERE u.id IN :ids AND u.fcmToken IS NOT NULL AND u.fcmToken <> ''")
+    List<UserFcmToken> findFcmTokensByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE User u SET u.fcmToken = :fcmToken WHERE u.id = :id")
+    int updateFcmToken(@Param("id") UUID id, @Param("fcmToken") String fcmToken);
+
+    @Modifying
+    @Query("UPDATE User u SET u.fcmToken = NULL WHERE u.id = :id AND u.fcmToken = :staleToken")
+    int clearFcmToken(@Param("id") UUID id, @Param("staleToken") String staleToken);
+
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.phone = :phone")
+    int updatePasswordHash(@Param("phone") String phone, @Param("passwordHash") String passwordHash);
 }
@@ -3,27 +3,35 @@ package ml.jufa.backend.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.security.principal.UserPrincipalCache;
+import ml.jufa.backend.security.revocation.TokenRevocationService;
 import ml.jufa.backend.user.dto.UpdateProfileRequest;
 import ml.jufa.backend.user.dto.UserResponse;
 import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.user.entity.UserProfile;
+import ml.jufa.backend.user.entity.UserStatus;
 import ml.jufa.backend.user.repository.UserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenRevocationService tokenRevocationService;
 
-    public UserResponse getCurrentUser(User user) {
-        return UserResponse.fromEntity(user);
+    public UserResponse getCurrentUser(User principal) {
+        return UserResponse.fromEntity(loadUser(principal));
     }
 
     @Transactional
-    public UserResponse updateProfile(User user, UpdateProfileRequest request) {
+    public UserResponse updateProfile(User principal, UpdateProfileRequest request) {
+        User user = loadUser(principal);
         UserProfile profile = user.getProfile();
         
         if (profile == null) {
@@ -60,4 +68,27 @@ public class UserService {
         
         return UserResponse.fromEntity(user);
     }
+
+    @Transactional
+    public UserResponse updateStatus(UUID userId, UserStatus status) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new JufaException("JUFA-USER-001", "User not found"));
+
+        user.setStatus(status);
+        userRepository.save(user);
+        userPrincipalCache.evict(userId);
+
+        if (status != UserStatus.ACTIVE) {
+            tokenRevocationService.revokeUser(userId);
+        }
+
+        log.info("Status of user {} set to {}", user.getPhone(), status);
+
+        return UserResponse.fromEntity(user);
+    }
+
+    private User loadUser(User principal) {
+        return userRepository.findById(principal.getId())
+            .orElseThrow(() -> new JufaException("JUFA-USER-001", "User not found"));
+    }
 }
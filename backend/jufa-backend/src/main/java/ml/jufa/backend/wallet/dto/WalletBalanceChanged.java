@@ -0,0 +1,6 @@
+package ml.jufa.backend.wallet.dto;
+
+import java.util.UUID;
+
+public record WalletBalanceChanged(UUID walletId) {
+}
@@ -30,8 +30,8 @@ public class WalletResponse {
             .id(wallet.getId())
             .walletType(wallet.getWalletType())
             .currency(wallet.getCurrency())
-            .balance(wallet.getBalance())
-            .availableBalance(wallet.getAvailableBalance())
+            .balance(wallet.getTotalBalance())
+            .availableBalance(wallet.getTotalAvailableBalance())
             .status(wallet.getStatus())
             .createdAt(wallet.getCreatedAt())
             .build();
@@ -4,11 +4,14 @@ import jakarta.persistence.*;
 import lombok.*;
 import ml.jufa.backend.common.entity.BaseEntity;
 import ml.jufa.backend.user.entity.User;
+import org.hibernate.annotations.Formula;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "wallets")
+@Table(name = "wallets", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_wallet_user_type", columnNames = {"user_id", "wallet_type"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -40,12 +43,43 @@ public class Wallet extends BaseEntity {
     @Builder.Default
     private WalletStatus status = WalletStatus.ACTIVE;
 
+    @Column(name = "shard_count", nullable = false)
+    @Builder.Default
+    private Integer shardCount = 0;
+
+    @Formula("(CASE WHEN shard_count > 0 THEN " +
+             "(SELECT COALESCE(SUM(s.balance), 0) FROM wallet_shards s WHERE s.wallet_id = id) ELSE 0 END)")
+    @Setter(AccessLevel.NONE)
+    private BigDecimal shardBalance;
+
     public enum WalletStatus {
         ACTIVE,
         FROZEN,
         CLOSED
     }
 
+    public BigDecimal getTotalBalance() {
+        return balance.add(getShardBalance());
+    }
+
+    public BigDecimal getTotalAvailableBalance() {
+        return availableBalance.add(getShardBalance());
+    }
+
+    public BigDecimal getShardBalance() {
+        return shardBalance != null ? shardBalance : BigDecimal.ZERO;
+    }
+
+    public boolean isSharded() {
+        return shardCount != null && shardCount > 0;
+    }
+
+    public void absorbShards(BigDecimal amount) {
+        this.balance = this.balance.add(amount);
+        this.availableBalance = this.availableBalance.add(amount);
+        this.shardBalance = getShardBalance().subtract(amount);
+    }
+
     public void credit(BigDecimal amount) {
         this.balance = this.balance.add(amount);
         this.availableBalance = this.availableBalance.add(amount);
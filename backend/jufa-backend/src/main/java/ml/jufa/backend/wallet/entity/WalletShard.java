@@ -0,0 +1,30 @@
+package ml.jufa.backend.wallet.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ml.jufa.backend.common.entity.BaseEntity;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "wallet_shards", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_wallet_shard", columnNames = {"wallet_id", "shard_index"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WalletShard extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "wallet_id", nullable = false)
+    private Wallet wallet;
+
+    @Column(name = "shard_index", nullable = false)
+    private Integer shardIndex;
+
+    @Column(precision = 18, scale = 2)
+    @Builder.Default
+    private BigDecimal balance = BigDecimal.ZERO;
+}
@@ -0,0 +1,6 @@
+package ml.jufa.backend.wallet.repository;
+
+import java.util.UUID;
+
+public record WalletOwner(UUID walletId, UUID userId) {
+}
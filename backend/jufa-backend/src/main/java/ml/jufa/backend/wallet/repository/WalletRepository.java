@@ -4,10 +4,13 @@ import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.wallet.entity.Wallet;
 import ml.jufa.backend.wallet.entity.WalletType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +24,21 @@ public interface WalletRepository extends JpaRepository<Wallet, UUID> {
     
     Optional<Wallet> findByUserAndWalletType(User user, WalletType walletType);
     
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<Wallet> findWithLockById(UUID id);
+    @Query("SELECT new ml.jufa.backend.wallet.repository.WalletOwner(w.id, w.user.id) FROM Wallet w WHERE w.id IN :ids")
+    List<WalletOwner> findOwnersByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Wallet w SET w.balance = w.balance - :amount, w.availableBalance = w.availableBalance - :amount, " +
+           "w.updatedAt = CURRENT_TIMESTAMP WHERE w.id = :id AND w.availableBalance >= :amount AND w.status = 'ACTIVE'")
+    int debitIfAvailable(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Wallet w SET w.balance = w.balance + :amount, w.availableBalance = w.availableBalance + :amount, " +
+           "w.updatedAt = CURRENT_TIMESTAMP WHERE w.id = :id AND w.status = 'ACTIVE'")
+    int creditIfActive(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Wallet w SET w.balance = w.balance + :amount, w.availableBalance = w.availableBalance + :amount, " +
+           "w.updatedAt = CURRENT_TIMESTAMP WHERE w.id = :id AND w.status = 'ACTIVE' AND w.shardCount = 0")
+    int creditUnshardedIfActive(@Param("id") UUID id, @Param("amount") BigDecimal amount);
 }
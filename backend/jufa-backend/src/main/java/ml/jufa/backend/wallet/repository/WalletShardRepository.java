@@ -0,0 +1,27 @@
+package ml.jufa.backend.wallet.repository;
+
+import ml.jufa.backend.wallet.entity.WalletShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Repository
+public interface WalletShardRepository extends JpaRepository<WalletShard, UUID> {
+    
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM WalletShard s WHERE s.wallet.id = :walletId")
+    BigDecimal sumBalanceByWalletId(@Param("walletId") UUID walletId);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WalletShard s SET s.balance = s.balance + :amount, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.wallet.id = :walletId AND s.shardIndex = :shardIndex")
+    int credit(@Param("walletId") UUID walletId, @Param("shardIndex") int shardIndex, @Param("amount") BigDecimal amount);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WalletShard s SET s.balance = 0, s.updatedAt = CURRENT_TIMESTAMP WHERE s.wallet.id = :walletId")
+    int resetByWalletId(@Param("walletId") UUID walletId);
+}
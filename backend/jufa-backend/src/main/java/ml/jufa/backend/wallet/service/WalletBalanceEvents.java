@@ -0,0 +1,121 @@
+package ml.jufa.backend.wallet.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.realtime.service.RealtimeEvent;
+import ml.jufa.backend.realtime.service.RealtimeEventPublisher;
+import ml.jufa.backend.wallet.dto.WalletBalanceChanged;
+import ml.jufa.backend.wallet.repository.WalletRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class WalletBalanceEvents implements DisposableBean {
+
+    private final WalletRepository walletRepository;
+    private final RealtimeEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Queue<UUID> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean publishRequested = new AtomicBoolean();
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wallet-balance-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WalletBalanceEvents(
+            WalletRepository walletRepository,
+            RealtimeEventPublisher eventPublisher,
+            @Value("${jufa.realtime.balance-batch-size:500}") int batchSize) {
+        this.walletRepository = walletRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void changed(Collection<UUID> walletIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(walletIds);
+            return;
+        }
+
+        Set<UUID> changed = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (changed == null) {
+            Set<UUID> collected = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, collected);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(WalletBalanceEvents.this);
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(collected);
+                    }
+                }
+            });
+            changed = collected;
+        }
+        changed.addAll(walletIds);
+    }
+
+    private void enqueue(Collection<UUID> walletIds) {
+        pending.addAll(walletIds);
+        if (!publishRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            publisher.execute(() -> {
+                publishRequested.set(false);
+                publishPending();
+            });
+        } catch (RejectedExecutionException e) {
+            publishRequested.set(false);
+            pending.clear();
+            log.debug("Wallet balance events dropped during shutdown");
+        }
+    }
+
+    private void publishPending() {
+        List<UUID> batch = nextBatch();
+        while (!batch.isEmpty()) {
+            try {
+                eventPublisher.publish(walletRepository.findOwnersByIdIn(batch).stream()
+                        .map(owner -> new RealtimeEvent(owner.userId(), RealtimeEvent.WALLET_BALANCE,
+                                new WalletBalanceChanged(owner.walletId())))
+                        .toList());
+            } catch (Exception e) {
+                log.warn("Balance events for {} wallets not published: {}", batch.size(), e.getMessage());
+            }
+            batch = nextBatch();
+        }
+    }
+
+    private List<UUID> nextBatch() {
+        Set<UUID> batch = new LinkedHashSet<>();
+        UUID walletId;
+        while (batch.size() < batchSize && (walletId = pending.poll()) != null) {
+            batch.add(walletId);
+        }
+        return new ArrayList<>(batch);
+    }
+
+    @Override
+    public void destroy() {
+        publisher.shutdown();
+    }
+}
@@ -0,0 +1,202 @@
+package ml.jufa.backend.wallet.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.wallet.entity.Wallet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+public class WalletLockService {
+
+    public static final Comparator<UUID> LOCK_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+    private final TransactionTemplate savepointTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long lockTimeoutMs;
+    private final String lockTimeoutStatement;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public WalletLockService(
+            PlatformTransactionManager transactionManager,
+            @Value("${jufa.wallet.lock.max-attempts:4}") int maxAttempts,
+            @Value("${jufa.wallet.lock.initial-backoff-ms:20}") long initialBackoffMs,
+            @Value("${jufa.wallet.lock.max-backoff-ms:250}") long maxBackoffMs,
+            @Value("${jufa.wallet.lock.timeout-ms:3000}") long lockTimeoutMs,
+            @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.savepointTemplate = new TransactionTemplate(transactionManager);
+        this.savepointTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.lockTimeoutStatement = lockTimeoutStatement(DatabaseDriver.fromJdbcUrl(datasourceUrl), lockTimeoutMs);
+    }
+
+    public Wallet lock(UUID walletId) {
+        return lockAll(List.of(walletId)).get(walletId);
+    }
+
+    public Map<UUID, Wallet> lockAll(Collection<UUID> walletIds) {
+        Set<UUID> ids = ordered(walletIds);
+        List<Wallet> wallets = executeWithRetry(() -> lockQuery(
+                "SELECT w FROM Wallet w WHERE w.id IN :ids ORDER BY w.id", Wallet.class)
+                .setParameter("ids", ids)
+                .getResultList());
+
+        if (wallets.size() != ids.size()) {
+            throw new JufaException("JUFA-WALLET-001", "Wallet not found");
+        }
+
+        Map<UUID, Wallet> locked = new LinkedHashMap<>();
+        for (Wallet wallet : wallets) {
+            entityManager.refresh(wallet);
+            locked.put(wallet.getId(), wallet);
+        }
+        return locked;
+    }
+
+    public void lockRows(Collection<UUID> walletIds) {
+        Set<UUID> ids = ordered(walletIds);
+        List<UUID> locked = executeWithRetry(() -> lockQuery(
+                "SELECT w.id FROM Wallet w WHERE w.id IN :ids ORDER BY w.id", UUID.class)
+                .setParameter("ids", ids)
+                .getResultList());
+
+        if (locked.size() != ids.size()) {
+            throw new JufaException("JUFA-WALLET-001", "Wallet not found");
+        }
+    }
+
+    public boolean lockIfUnsharded(UUID walletId) {
+        requireTransaction();
+        return !executeWithRetry(() -> lockQuery(
+                "SELECT w.id FROM Wallet w WHERE w.id = :id AND w.shardCount = 0", UUID.class)
+                .setParameter("id", walletId)
+                .getResultList())
+                .isEmpty();
+    }
+
+    public void lockShard(UUID walletId, int shardIndex) {
+        requireTransaction();
+        executeWithRetry(() -> lockQuery(
+                "SELECT s.id FROM WalletShard s WHERE s.wallet.id = :walletId AND s.shardIndex = :shardIndex",
+                UUID.class)
+                .setParameter("walletId", walletId)
+                .setParameter("shardIndex", shardIndex)
+                .getResultList());
+    }
+
+    public void lockShards(UUID walletId) {
+        requireTransaction();
+        executeWithRetry(() -> lockQuery(
+                "SELECT s.id FROM WalletShard s WHERE s.wallet.id = :walletId ORDER BY s.shardIndex", UUID.class)
+                .setParameter("walletId", walletId)
+                .getResultList());
+    }
+
+    public <T> T executeWithRetry(Supplier<T> action) {
+        applyLockTimeout();
+        long backoff = initialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return savepointTemplate.execute(status -> action.get());
+            } catch (PessimisticLockingFailureException | LockTimeoutException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Wallet lock not acquired after {} attempts: {}", attempt, e.getMessage());
+                    throw new JufaException("JUFA-WALLET-006", "Wallet is busy, please retry");
+                }
+                log.debug("Wallet lock timeout (attempt {}/{}), retrying in ~{} ms", attempt, maxAttempts, backoff);
+                pause(backoff);
+                backoff = Math.min(backoff * 2, maxBackoffMs);
+            }
+        }
+    }
+
+    private <T> TypedQuery<T> lockQuery(String jpql, Class<T> resultType) {
+        return entityManager.createQuery(jpql, resultType)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint(LOCK_TIMEOUT_HINT, Math.toIntExact(lockTimeoutMs));
+    }
+
+    private Set<UUID> ordered(Collection<UUID> walletIds) {
+        requireTransaction();
+        Set<UUID> ids = new TreeSet<>(LOCK_ORDER);
+        ids.addAll(walletIds);
+        return ids;
+    }
+
+    private void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Wallet locks must be taken inside a transaction");
+        }
+    }
+
+    private void applyLockTimeout() {
+        if (lockTimeoutStatement == null
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        entityManager.createNativeQuery(lockTimeoutStatement).executeUpdate();
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WalletLockService.this);
+            }
+        });
+    }
+
+    private static String lockTimeoutStatement(DatabaseDriver driver, long lockTimeoutMs) {
+        if (lockTimeoutMs <= 0) {
+            return null;
+        }
+        return switch (driver) {
+            case POSTGRESQL -> "SET LOCAL lock_timeout = " + lockTimeoutMs;
+            case H2 -> "SET LOCK_TIMEOUT " + lockTimeoutMs;
+            default -> null;
+        };
+    }
+
+    private void pause(long backoff) {
+        try {
+            Thread.sleep(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JufaException("JUFA-WALLET-006", "Wallet is busy, please retry");
+        }
+    }
+}
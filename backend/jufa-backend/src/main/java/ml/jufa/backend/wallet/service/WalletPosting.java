@@ -0,0 +1,24 @@
+package ml.jufa.backend.wallet.service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record WalletPosting(UUID walletId, BigDecimal amount, Direction direction) {
+
+    public enum Direction {
+        DEBIT,
+        CREDIT
+    }
+
+    public static WalletPosting debit(UUID walletId, BigDecimal amount) {
+        return new WalletPosting(walletId, amount, Direction.DEBIT);
+    }
+
+    public static WalletPosting credit(UUID walletId, BigDecimal amount) {
+        return new WalletPosting(walletId, amount, Direction.CREDIT);
+    }
+
+    public boolean isDebit() {
+        return direction == Direction.DEBIT;
+    }
+}
@@ -0,0 +1,103 @@
+package ml.jufa.backend.wallet.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.wallet.entity.Wallet;
+import ml.jufa.backend.wallet.repository.WalletRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WalletPostingService {
+
+    private static final Comparator<WalletPosting> POSTING_ORDER =
+            Comparator.comparing(WalletPosting::walletId, WalletLockService.LOCK_ORDER);
+
+    private final WalletRepository walletRepository;
+    private final WalletLockService walletLockService;
+    private final WalletShardService walletShardService;
+    private final WalletBalanceEvents walletBalanceEvents;
+
+    public void debit(UUID walletId, BigDecimal amount) {
+        post(List.of(WalletPosting.debit(walletId, amount)));
+    }
+
+    public void credit(UUID walletId, BigDecimal amount) {
+        post(List.of(WalletPosting.credit(walletId, amount)));
+    }
+
+    public void post(List<WalletPosting> postings) {
+        List<WalletPosting> ordered = postings.stream()
+                .filter(posting -> posting.amount().signum() > 0)
+                .sorted(POSTING_ORDER)
+                .toList();
+
+        for (WalletPosting posting : ordered) {
+            apply(posting);
+        }
+
+        if (!ordered.isEmpty()) {
+            walletBalanceEvents.changed(ordered.stream().map(WalletPosting::walletId).distinct().toList());
+        }
+    }
+
+    private void apply(WalletPosting posting) {
+        boolean applied;
+        if (posting.isDebit()) {
+            walletLockService.lockRows(List.of(posting.walletId()));
+            applied = walletRepository.debitIfAvailable(posting.walletId(), posting.amount()) > 0;
+        } else {
+            applied = walletLockService.lockIfUnsharded(posting.walletId())
+                    && walletRepository.creditUnshardedIfActive(posting.walletId(), posting.amount()) > 0;
+        }
+
+        if (!applied) {
+            applyToShards(posting);
+        }
+
+        log.debug("Posted {} {} on wallet {}", posting.direction(), posting.amount(), posting.walletId());
+    }
+
+    private void applyToShards(WalletPosting posting) {
+        Wallet wallet = walletRepository.findById(posting.walletId())
+                .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet not found"));
+
+        if (wallet.getStatus() != Wallet.WalletStatus.ACTIVE) {
+            throw new JufaException("JUFA-WALLET-004", "Wallet is not active");
+        }
+
+        if (!wallet.isSharded()) {
+            throw new JufaException("JUFA-WALLET-005", "Insufficient balance");
+        }
+
+        if (!posting.isDebit()) {
+            if (!walletShardService.credit(wallet, posting.amount())) {
+                walletLockService.lockRows(List.of(wallet.getId()));
+                creditActive(wallet.getId(), posting.amount());
+            }
+            return;
+        }
+
+        BigDecimal swept = walletShardService.sweep(wallet.getId());
+        if (swept.signum() > 0) {
+            creditActive(wallet.getId(), swept);
+        }
+
+        if (walletRepository.debitIfAvailable(wallet.getId(), posting.amount()) == 0) {
+            throw new JufaException("JUFA-WALLET-005", "Insufficient balance");
+        }
+    }
+
+    private void creditActive(UUID walletId, BigDecimal amount) {
+        if (walletRepository.creditIfActive(walletId, amount) == 0) {
+            throw new JufaException("JUFA-WALLET-004", "Wallet is not active");
+        }
+    }
+}
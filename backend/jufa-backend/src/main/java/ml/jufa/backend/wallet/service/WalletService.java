@@ -3,6 +3,10 @@ package ml.jufa.backend.wallet.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.ledger.entity.LedgerAccount;
+import ml.jufa.backend.ledger.entity.LedgerEntryType;
+import ml.jufa.backend.ledger.service.LedgerMovement;
+import ml.jufa.backend.ledger.service.LedgerService;
 import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.wallet.dto.WalletResponse;
 import ml.jufa.backend.wallet.entity.Wallet;
@@ -22,6 +26,9 @@ import java.util.stream.Collectors;
 public class WalletService {
 
     private final WalletRepository walletRepository;
+    private final WalletLockService walletLockService;
+    private final WalletShardService walletShardService;
+    private final LedgerService ledgerService;
 
     public List<WalletResponse> getUserWallets(User user) {
         return walletRepository.findByUser(user).stream()
@@ -57,15 +64,17 @@ public class WalletService {
         Wallet wallet = Wallet.builder()
             .user(user)
             .walletType(walletType)
+            .shardCount(walletShardService.shardCountFor(walletType))
             .build();
 
-        return walletRepository.save(wallet);
+        Wallet saved = walletRepository.save(wallet);
+        walletShardService.createShards(saved);
+        return saved;
     }
 
     @Transactional
     public WalletResponse creditWallet(UUID walletId, BigDecimal amount, User user) {
-        Wallet wallet = walletRepository.findWithLockById(walletId)
-            .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet not found"));
+        Wallet wallet = walletLockService.lock(walletId);
         
         if (!wallet.getUser().getId().equals(user.getId())) {
             throw new JufaException("JUFA-WALLET-002", "Access denied to this wallet");
@@ -77,6 +86,8 @@ public class WalletService {
 
         wallet.credit(amount);
         walletRepository.save(wallet);
+        ledgerService.record(List.of(LedgerMovement.accountToWallet(
+            LedgerEntryType.ADJUSTMENT, LedgerAccount.ADJUSTMENT, walletId, amount, null)));
         
         log.info("Credited {} {} to wallet {}", amount, wallet.getCurrency(), walletId);
         
@@ -85,8 +96,7 @@ public class WalletService {
 
     @Transactional
     public WalletResponse debitWallet(UUID walletId, BigDecimal amount, User user) {
-        Wallet wallet = walletRepository.findWithLockById(walletId)
-            .orElseThrow(() -> new JufaException("JUFA-WALLET-001", "Wallet not found"));
+        Wallet wallet = walletLockService.lock(walletId);
         
         if (!wallet.getUser().getId().equals(user.getId())) {
             throw new JufaException("JUFA-WALLET-002", "Access denied to this wallet");
@@ -96,12 +106,18 @@ public class WalletService {
             throw new JufaException("JUFA-WALLET-004", "Wallet is not active");
         }
 
-        if (wallet.getAvailableBalance().compareTo(amount) < 0) {
+        if (wallet.getTotalAvailableBalance().compareTo(amount) < 0) {
             throw new JufaException("JUFA-WALLET-005", "Insufficient balance");
         }
 
+        if (wallet.isSharded() && wallet.getAvailableBalance().compareTo(amount) < 0) {
+            wallet.absorbShards(walletShardService.sweep(walletId));
+        }
+
         wallet.debit(amount);
         walletRepository.save(wallet);
+        ledgerService.record(List.of(LedgerMovement.walletToAccount(
+            LedgerEntryType.ADJUSTMENT, walletId, LedgerAccount.ADJUSTMENT, amount, null)));
         
         log.info("Debited {} {} from wallet {}", amount, wallet.getCurrency(), walletId);
         
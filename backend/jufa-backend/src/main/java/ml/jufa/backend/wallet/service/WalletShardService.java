@@ -0,0 +1,77 @@
+package ml.jufa.backend.wallet.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ml.jufa.backend.wallet.entity.Wallet;
+import ml.jufa.backend.wallet.entity.WalletShard;
+import ml.jufa.backend.wallet.entity.WalletType;
+import ml.jufa.backend.wallet.repository.WalletShardRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+@Service
+@Slf4j
+public class WalletShardService {
+
+    private final WalletShardRepository shardRepository;
+    private final WalletLockService walletLockService;
+    private final int shardCount;
+    private final Set<WalletType> shardedTypes;
+
+    public WalletShardService(
+            WalletShardRepository shardRepository,
+            WalletLockService walletLockService,
+            @Value("${jufa.wallet.sharding.shard-count:0}") int shardCount,
+            @Value("${jufa.wallet.sharding.wallet-types:B2B,COMMISSION}") WalletType[] shardedTypes) {
+        this.shardRepository = shardRepository;
+        this.walletLockService = walletLockService;
+        this.shardCount = shardCount;
+        this.shardedTypes = shardedTypes.length == 0
+                ? EnumSet.noneOf(WalletType.class)
+                : EnumSet.copyOf(List.of(shardedTypes));
+    }
+
+    public int shardCountFor(WalletType walletType) {
+        return shardCount > 1 && shardedTypes.contains(walletType) ? shardCount : 0;
+    }
+
+    public void createShards(Wallet wallet) {
+        if (!wallet.isSharded()) {
+            return;
+        }
+
+        List<WalletShard> shards = IntStream.range(0, wallet.getShardCount())
+                .mapToObj(index -> WalletShard.builder()
+                        .wallet(wallet)
+                        .shardIndex(index)
+                        .build())
+                .toList();
+        shardRepository.saveAll(shards);
+
+        log.info("Created {} balance shards for {} wallet {}", shards.size(), wallet.getWalletType(), wallet.getId());
+    }
+
+    public boolean credit(Wallet wallet, BigDecimal amount) {
+        int shardIndex = ThreadLocalRandom.current().nextInt(wallet.getShardCount());
+        walletLockService.lockShard(wallet.getId(), shardIndex);
+        return shardRepository.credit(wallet.getId(), shardIndex, amount) > 0;
+    }
+
+    public BigDecimal sweep(UUID walletId) {
+        walletLockService.lockShards(walletId);
+        BigDecimal swept = shardRepository.sumBalanceByWalletId(walletId);
+
+        if (swept.signum() > 0) {
+            shardRepository.resetByWalletId(walletId);
+            log.debug("Swept {} from shards into wallet {}", swept, walletId);
+        }
+        return swept;
+    }
+}
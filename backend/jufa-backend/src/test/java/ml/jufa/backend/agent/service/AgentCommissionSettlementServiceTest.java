@@ -0,0 +1,164 @@
+package ml.jufa.backend.agent.service;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import ml.jufa.backend.agent.entity.AgentCommission;
+import ml.jufa.backend.agent.repository.AgentCommissionRepository;
+import ml.jufa.backend.config.TestConfig;
+import ml.jufa.backend.ledger.entity.LedgerAccount;
+import ml.jufa.backend.ledger.entity.LedgerEntryType;
+import ml.jufa.backend.ledger.service.LedgerMovement;
+import ml.jufa.backend.ledger.service.LedgerService;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.user.repository.UserRepository;
+import ml.jufa.backend.wallet.entity.Wallet;
+import ml.jufa.backend.wallet.entity.WalletType;
+import ml.jufa.backend.wallet.repository.WalletRepository;
+import ml.jufa.backend.wallet.service.WalletShardService;
+import org.hibernate.LockOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AgentCommissionSettlementService Tests")
+class AgentCommissionSettlementServiceTest {
+
+    @Mock
+    private AgentCommissionRepository commissionRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private WalletRepository walletRepository;
+    @Mock
+    private LedgerService ledgerService;
+    @Mock
+    private WalletShardService walletShardService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AgentCommissionSettlementService settlementService;
+    private User agent;
+    private Wallet commissionWallet;
+
+    @BeforeEach
+    void setUp() {
+        settlementService = new AgentCommissionSettlementService(commissionRepository, userRepository,
+                walletRepository, ledgerService, walletShardService, transactionManager, 500);
+        agent = TestConfig.createTestAgent();
+        commissionWallet = TestConfig.createTestWallet(agent, WalletType.COMMISSION);
+    }
+
+    @Test
+    @DisplayName("should claim pending commissions with SKIP LOCKED row locks")
+    void shouldClaimWithSkipLocked() throws NoSuchMethodException {
+        Method finder = AgentCommissionRepository.class.getMethod("findForSettlement",
+                UUID.class, AgentCommission.CommissionStatus.class, Pageable.class);
+
+        assertThat(finder.getAnnotation(Lock.class).value()).isEqualTo(LockModeType.PESSIMISTIC_WRITE);
+        assertThat(finder.getAnnotation(QueryHints.class).value())
+                .extracting(QueryHint::name, QueryHint::value)
+                .containsExactly(tuple("jakarta.persistence.lock.timeout", String.valueOf(LockOptions.SKIP_LOCKED)));
+    }
+
+    @Test
+    @DisplayName("should credit the batch total in one posting and mark the commissions credited")
+    void shouldSettleBatch() {
+        List<AgentCommission> pending = List.of(commission("150"), commission("350"));
+        stubPending(pending);
+        stubCommissionWallet();
+
+        int settled = settlementService.settleAgent(agent.getId());
+
+        assertThat(settled).isEqualTo(2);
+        verify(ledgerService).post(LedgerMovement.accountToWallet(LedgerEntryType.COMMISSION,
+                LedgerAccount.COMMISSION_EXPENSE, commissionWallet.getId(), new BigDecimal("500"), null));
+        verify(commissionRepository).saveAll(pending);
+        assertThat(pending).extracting(AgentCommission::getStatus)
+                .containsOnly(AgentCommission.CommissionStatus.CREDITED);
+    }
+
+    @Test
+    @DisplayName("should not credit anything again when re-run after a settlement")
+    void shouldBeIdempotentOnRerun() {
+        stubPending(List.of(commission("150")), List.of());
+        stubCommissionWallet();
+
+        assertThat(settlementService.settleAgent(agent.getId())).isEqualTo(1);
+        assertThat(settlementService.settleAgent(agent.getId())).isZero();
+
+        verify(ledgerService, times(1)).post(any(LedgerMovement.class));
+        verify(commissionRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("should create the commission wallet on first settlement")
+    void shouldCreateCommissionWallet() {
+        stubPending(List.of(commission("150")));
+        when(userRepository.getReferenceById(agent.getId())).thenReturn(agent);
+        when(walletRepository.findByUserAndWalletType(agent, WalletType.COMMISSION)).thenReturn(Optional.empty());
+        when(userRepository.findWithLockById(agent.getId())).thenReturn(Optional.of(agent));
+        when(walletShardService.shardCountFor(WalletType.COMMISSION)).thenReturn(0);
+        when(walletRepository.save(any(Wallet.class))).thenReturn(commissionWallet);
+
+        settlementService.settleAgent(agent.getId());
+
+        verify(walletShardService).createShards(commissionWallet);
+        verify(ledgerService).post(any(LedgerMovement.class));
+    }
+
+    @Test
+    @DisplayName("should keep settling other agents when one agent fails")
+    void shouldIsolateAgentFailures() {
+        User otherAgent = TestConfig.createTestAgent();
+        when(commissionRepository.findAgentIdsByStatus(AgentCommission.CommissionStatus.PENDING))
+                .thenReturn(List.of(agent.getId(), otherAgent.getId()));
+        when(commissionRepository.findForSettlement(eq(agent.getId()), any(), any()))
+                .thenThrow(new IllegalStateException("boom"));
+        when(commissionRepository.findForSettlement(eq(otherAgent.getId()), any(), any()))
+                .thenReturn(List.of());
+
+        settlementService.settlePendingCommissions();
+
+        verify(commissionRepository).findForSettlement(eq(otherAgent.getId()), any(), any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @SafeVarargs
+    private void stubPending(List<AgentCommission> first, List<AgentCommission>... next) {
+        when(commissionRepository.findForSettlement(eq(agent.getId()),
+                eq(AgentCommission.CommissionStatus.PENDING), any()))
+                .thenReturn(first, next);
+    }
+
+    private void stubCommissionWallet() {
+        when(userRepository.getReferenceById(agent.getId())).thenReturn(agent);
+        when(walletRepository.findByUserAndWalletType(agent, WalletType.COMMISSION))
+                .thenReturn(Optional.of(commissionWallet));
+    }
+
+    private AgentCommission commission(String amount) {
+        return AgentCommission.builder()
+                .agent(agent)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
@@ -4,8 +4,12 @@ import ml.jufa.backend.agent.dto.*;
 import ml.jufa.backend.agent.entity.*;
 import ml.jufa.backend.agent.repository.*;
 import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.common.util.ReferenceGenerator;
 import ml.jufa.backend.config.TestConfig;
+import ml.jufa.backend.ledger.service.LedgerMovement;
+import ml.jufa.backend.ledger.service.LedgerService;
 import ml.jufa.backend.notification.service.PushNotificationService;
+import ml.jufa.backend.security.ratelimit.CredentialRateLimiter;
 import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.user.repository.UserRepository;
 import ml.jufa.backend.wallet.entity.Wallet;
@@ -18,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -40,13 +45,23 @@ class AgentServiceTest {
     @Mock
     private AgentDailyReportRepository reportRepository;
     @Mock
+    private AgentDashboardAggregator dashboardAggregator;
+    @Mock
+    private AgentDailyReportCounters dailyReportCounters;
+    @Mock
     private UserRepository userRepository;
     @Mock
     private WalletRepository walletRepository;
     @Mock
+    private LedgerService ledgerService;
+    @Mock
     private PushNotificationService pushNotificationService;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private CredentialRateLimiter credentialRateLimiter;
+    @Spy
+    private ReferenceGenerator referenceGenerator = new ReferenceGenerator(1);
 
     @InjectMocks
     private AgentService agentService;
@@ -94,17 +109,8 @@ class AgentServiceTest {
             when(userRepository.findByPhone(customer.getPhone())).thenReturn(Optional.of(customer));
             when(walletRepository.findByUserAndWalletType(customer, WalletType.B2C))
                     .thenReturn(Optional.of(customerWallet));
-            when(walletRepository.findWithLockById(customerWallet.getId()))
-                    .thenReturn(Optional.of(customerWallet));
-            when(walletRepository.findByUserAndWalletType(agent, WalletType.COMMISSION))
-                    .thenReturn(Optional.of(commissionWallet));
-            when(walletRepository.findWithLockById(commissionWallet.getId()))
-                    .thenReturn(Optional.of(commissionWallet));
             mockTransactionSaveWithId();
-            when(walletRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
             when(commissionRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-            when(reportRepository.findByAgentAndReportDate(any(), any())).thenReturn(Optional.empty());
-            when(reportRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             AgentTransactionResponse result = agentService.processCashIn(agent, request);
 
@@ -113,7 +119,10 @@ class AgentServiceTest {
             assertThat(result.getTransactionType()).isEqualTo(AgentTransactionType.CASH_IN);
             assertThat(result.getStatus()).isEqualTo(AgentTransactionStatus.COMPLETED);
             
-            verify(walletRepository, times(2)).save(any(Wallet.class));
+            verify(ledgerService).post(argThat((LedgerMovement movement) ->
+                    customerWallet.getId().equals(movement.creditWalletId())
+                            && movement.amount().compareTo(new BigDecimal("9900")) == 0));
+            verify(dailyReportCounters).record(argThat(tx -> tx.getTransactionType() == AgentTransactionType.CASH_IN));
             verify(pushNotificationService).sendTransactionReceived(eq(customer), any(), any(), any());
         }
 
@@ -186,17 +195,8 @@ class AgentServiceTest {
                     .thenReturn(Optional.of(agentWallet));
             when(walletRepository.findByUserAndWalletType(customer, WalletType.B2C))
                     .thenReturn(Optional.of(customerWallet));
-            when(walletRepository.findWithLockById(customerWallet.getId()))
-                    .thenReturn(Optional.of(customerWallet));
-            when(walletRepository.findByUserAndWalletType(agent, WalletType.COMMISSION))
-                    .thenReturn(Optional.of(commissionWallet));
-            when(walletRepository.findWithLockById(commissionWallet.getId()))
-                    .thenReturn(Optional.of(commissionWallet));
             mockTransactionSaveWithId();
-            when(walletRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
             when(commissionRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-            when(reportRepository.findByAgentAndReportDate(any(), any())).thenReturn(Optional.empty());
-            when(reportRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             AgentTransactionResponse result = agentService.processCashOut(agent, request);
 
@@ -305,13 +305,10 @@ class AgentServiceTest {
                     .thenReturn(Optional.of(agentWallet));
             when(walletRepository.findByUserAndWalletType(agent, WalletType.COMMISSION))
                     .thenReturn(Optional.of(commissionWallet));
-            when(transactionRepository.sumAmountByAgentAndTypeAndDateAfter(any(), any(), any()))
-                    .thenReturn(new BigDecimal("50000"));
-            when(transactionRepository.countCompletedByAgentAfter(any(), any())).thenReturn(10L);
-            when(transactionRepository.sumCommissionByAgentAfter(any(), any()))
-                    .thenReturn(new BigDecimal("500"));
-            when(commissionRepository.sumTotalCommissionByAgent(agent))
-                    .thenReturn(new BigDecimal("5000"));
+            AgentDashboardAggregator.Totals totals = new AgentDashboardAggregator.Totals(
+                    10, new BigDecimal("30000"), new BigDecimal("20000"), new BigDecimal("500"));
+            when(dashboardAggregator.activity(agent))
+                    .thenReturn(new AgentDashboardAggregator.Activity(totals, totals, totals, new BigDecimal("5000")));
             when(transactionRepository.countByAgentAndStatus(agent, AgentTransactionStatus.PENDING))
                     .thenReturn(0L);
 
@@ -320,6 +317,8 @@ class AgentServiceTest {
             assertThat(result).isNotNull();
             assertThat(result.getWalletBalance()).isEqualByComparingTo(new BigDecimal("100000"));
             assertThat(result.getTotalCommissionEarned()).isEqualByComparingTo(new BigDecimal("5000"));
+            assertThat(result.getTodayVolume()).isEqualByComparingTo(new BigDecimal("50000"));
+            assertThat(result.getWeekTransactions()).isEqualTo(10);
         }
 
         @Test
@@ -1,15 +1,22 @@
 package ml.jufa.backend.auth.service;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import ml.jufa.backend.auth.dto.*;
+import ml.jufa.backend.auth.store.InMemoryTokenStore;
 import ml.jufa.backend.common.exception.JufaException;
 import ml.jufa.backend.config.TestConfig;
 import ml.jufa.backend.security.jwt.JwtTokenProvider;
+import ml.jufa.backend.security.principal.UserPrincipalCache;
+import ml.jufa.backend.security.ratelimit.CredentialRateLimiter;
+import ml.jufa.backend.security.revocation.TokenRevocationService;
 import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.user.entity.UserStatus;
 import ml.jufa.backend.user.entity.UserType;
 import ml.jufa.backend.user.repository.UserRepository;
 import ml.jufa.backend.wallet.entity.Wallet;
 import ml.jufa.backend.wallet.repository.WalletRepository;
+import ml.jufa.backend.wallet.service.WalletShardService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,12 +25,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -43,12 +52,27 @@ class AuthServiceTest {
     @Mock
     private WalletRepository walletRepository;
     
+    @Mock
+    private WalletShardService walletShardService;
+    
     @Mock
     private PasswordEncoder passwordEncoder;
     
     @Mock
     private JwtTokenProvider jwtTokenProvider;
     
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+    
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private CredentialRateLimiter credentialRateLimiter;
+
+    @Spy
+    private AuthTokenService authTokenService = new AuthTokenService(new InMemoryTokenStore(1000), 5, 5, 300, 5);
+    
     @Mock
     private AuthenticationManager authenticationManager;
 
@@ -172,7 +196,7 @@ class AuthServiceTest {
 
         @Test
         @DisplayName("should verify OTP and activate user")
-        void shouldVerifyOtpAndActivateUser() throws Exception {
+        void shouldVerifyOtpAndActivateUser() {
             RegisterRequest registerRequest = new RegisterRequest();
             registerRequest.setPhone("+22370009999");
             registerRequest.setPassword("password123");
@@ -204,11 +228,7 @@ class AuthServiceTest {
             VerifyOtpRequest otpRequest = new VerifyOtpRequest();
             otpRequest.setUserId(userId);
             
-            java.lang.reflect.Field otpField = AuthService.class.getDeclaredField("otpStorage");
-            otpField.setAccessible(true);
-            @SuppressWarnings("unchecked")
-            Map<UUID, String> otpStorage = (Map<UUID, String>) otpField.get(authService);
-            otpStorage.put(userId, "123456");
+            authTokenService.storeOtp(userId, "123456");
             otpRequest.setOtp("123456");
 
             AuthResponse result = authService.verifyOtp(otpRequest);
@@ -241,6 +261,7 @@ class AuthServiceTest {
             testUser.setPinHash("encodedPin");
             VerifyPinRequest request = new VerifyPinRequest();
             request.setPin("1234");
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
 
             when(passwordEncoder.matches("1234", "encodedPin")).thenReturn(true);
 
@@ -256,6 +277,7 @@ class AuthServiceTest {
             testUser.setPinHash(null);
             VerifyPinRequest request = new VerifyPinRequest();
             request.setPin("1234");
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
 
             assertThatThrownBy(() -> authService.verifyPin(testUser, request))
                     .isInstanceOf(JufaException.class)
@@ -268,6 +290,7 @@ class AuthServiceTest {
             testUser.setPinHash("encodedPin");
             VerifyPinRequest request = new VerifyPinRequest();
             request.setPin("0000");
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
 
             when(passwordEncoder.matches("0000", "encodedPin")).thenReturn(false);
 
@@ -284,12 +307,11 @@ class AuthServiceTest {
         @Test
         @DisplayName("should refresh token successfully")
         void shouldRefreshTokenSuccessfully() {
-            RefreshTokenRequest request = new RefreshTokenRequest();
-            request.setRefreshToken("valid-refresh-token");
+            RefreshTokenRequest request = refreshRequest("valid-refresh-token");
+            Claims claims = claims("refresh");
 
-            when(jwtTokenProvider.validateToken("valid-refresh-token")).thenReturn(true);
-            when(jwtTokenProvider.getTokenType("valid-refresh-token")).thenReturn("refresh");
-            when(jwtTokenProvider.getUserIdFromToken("valid-refresh-token")).thenReturn(testUser.getId().toString());
+            when(jwtTokenProvider.parseClaims("valid-refresh-token")).thenReturn(Optional.of(claims));
+            when(tokenRevocationService.isRevoked(claims)).thenReturn(false);
             when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
             when(jwtTokenProvider.generateAccessToken(testUser)).thenReturn("new-access-token");
             when(jwtTokenProvider.getAccessTokenExpiration()).thenReturn(900000L);
@@ -302,14 +324,98 @@ class AuthServiceTest {
         @Test
         @DisplayName("should throw exception for invalid refresh token")
         void shouldThrowExceptionForInvalidRefreshToken() {
-            RefreshTokenRequest request = new RefreshTokenRequest();
-            request.setRefreshToken("invalid-token");
+            RefreshTokenRequest request = refreshRequest("invalid-token");
 
-            when(jwtTokenProvider.validateToken("invalid-token")).thenReturn(false);
+            when(jwtTokenProvider.parseClaims("invalid-token")).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> authService.refreshToken(request))
                     .isInstanceOf(JufaException.class)
                     .hasMessageContaining("Invalid refresh token");
         }
+
+        @Test
+        @DisplayName("should reject an access token used as refresh token")
+        void shouldRejectAccessToken() {
+            RefreshTokenRequest request = refreshRequest("access-token");
+
+            when(jwtTokenProvider.parseClaims("access-token")).thenReturn(Optional.of(claims("access")));
+
+            assertThatThrownBy(() -> authService.refreshToken(request))
+                    .isInstanceOf(JufaException.class)
+                    .extracting("code")
+                    .isEqualTo("JUFA-AUTH-003");
+            verify(userRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("should reject a revoked refresh token")
+        void shouldRejectRevokedRefreshToken() {
+            RefreshTokenRequest request = refreshRequest("revoked-token");
+            Claims claims = claims("refresh");
+
+            when(jwtTokenProvider.parseClaims("revoked-token")).thenReturn(Optional.of(claims));
+            when(tokenRevocationService.isRevoked(claims)).thenReturn(true);
+
+            assertThatThrownBy(() -> authService.refreshToken(request))
+                    .isInstanceOf(JufaException.class)
+                    .extracting("code")
+                    .isEqualTo("JUFA-AUTH-003");
+            verify(jwtTokenProvider, never()).generateAccessToken(any());
+        }
+
+        @Test
+        @DisplayName("should reject refresh for a blocked user")
+        void shouldRejectBlockedUser() {
+            RefreshTokenRequest request = refreshRequest("valid-refresh-token");
+            Claims claims = claims("refresh");
+            testUser.setStatus(UserStatus.BLOCKED);
+
+            when(jwtTokenProvider.parseClaims("valid-refresh-token")).thenReturn(Optional.of(claims));
+            when(tokenRevocationService.isRevoked(claims)).thenReturn(false);
+            when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+
+            assertThatThrownBy(() -> authService.refreshToken(request))
+                    .isInstanceOf(JufaException.class)
+                    .extracting("code")
+                    .isEqualTo("JUFA-AUTH-005");
+            verify(jwtTokenProvider, never()).generateAccessToken(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("logout")
+    class LogoutTests {
+
+        @Test
+        @DisplayName("should revoke both the access and the refresh token")
+        void shouldRevokeAccessAndRefreshTokens() {
+            Claims access = claims("access");
+            Claims refresh = claims("refresh");
+            LogoutRequest request = new LogoutRequest();
+            request.setRefreshToken("refresh-token");
+
+            when(jwtTokenProvider.parseClaims("access-token")).thenReturn(Optional.of(access));
+            when(jwtTokenProvider.parseClaims("refresh-token")).thenReturn(Optional.of(refresh));
+
+            authService.logout("access-token", request);
+
+            verify(tokenRevocationService).revoke(access.getId(), access.getExpiration());
+            verify(tokenRevocationService).revoke(refresh.getId(), refresh.getExpiration());
+        }
+    }
+
+    private RefreshTokenRequest refreshRequest(String token) {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(token);
+        return request;
+    }
+
+    private Claims claims(String type) {
+        return Jwts.claims()
+                .id(UUID.randomUUID().toString())
+                .subject(testUser.getId().toString())
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .add("type", type)
+                .build();
     }
 }
@@ -0,0 +1,80 @@
+package ml.jufa.backend.common.buffer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CounterBuffer Tests")
+class CounterBufferTest {
+
+    private final CounterKey key = new CounterKey(UUID.randomUUID(), LocalDate.now());
+
+    @Test
+    @DisplayName("should aggregate concurrent increments into one flushed row")
+    void shouldAggregateConcurrentIncrements() throws InterruptedException {
+        List<Map<CounterKey, long[]>> flushed = new ArrayList<>();
+        CounterBuffer buffer = new CounterBuffer("test", 2, Long.MAX_VALUE, flushed::add, b -> { });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            executor.execute(() -> buffer.add(key, 1L, 250L));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(buffer.flush()).isEqualTo(1);
+        assertThat(flushed).hasSize(1);
+        assertThat(flushed.get(0).get(key)).containsExactly(8_000L, 2_000_000L);
+        assertThat(buffer.flush()).isZero();
+        assertThat(buffer.lagMillis()).isZero();
+    }
+
+    @Test
+    @DisplayName("should request a flush once the event threshold is reached")
+    void shouldRequestFlushAtThreshold() {
+        AtomicInteger requests = new AtomicInteger();
+        CounterBuffer buffer = new CounterBuffer("test", 1, 3, batch -> { }, b -> requests.incrementAndGet());
+
+        buffer.add(key, 1L);
+        buffer.add(key, 1L);
+        assertThat(requests).hasValue(0);
+
+        buffer.add(key, 1L);
+        buffer.add(key, 1L);
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should keep counts when the sink fails")
+    void shouldRequeueOnFailure() {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        List<Map<CounterKey, long[]>> flushed = new ArrayList<>();
+        CounterBuffer buffer = new CounterBuffer("test", 1, Long.MAX_VALUE, batch -> {
+            if (failing.get()) {
+                throw new IllegalStateException("database unavailable");
+            }
+            flushed.add(batch);
+        }, b -> { });
+
+        buffer.add(key, 5L);
+        assertThat(buffer.flush()).isZero();
+        assertThat(buffer.lagMillis()).isGreaterThanOrEqualTo(0L);
+
+        failing.set(false);
+        buffer.add(key, 2L);
+        assertThat(buffer.flush()).isEqualTo(1);
+        assertThat(flushed.get(0).get(key)).containsExactly(7L);
+    }
+}
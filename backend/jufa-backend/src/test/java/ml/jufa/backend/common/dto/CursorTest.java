@@ -0,0 +1,47 @@
+package ml.jufa.backend.common.dto;
+
+import ml.jufa.backend.common.exception.JufaException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Cursor Tests")
+class CursorTest {
+
+    @Test
+    @DisplayName("should round-trip through the opaque token")
+    void shouldRoundTrip() {
+        Cursor cursor = new Cursor(LocalDateTime.of(2024, 6, 10, 8, 30, 15, 123456000), UUID.randomUUID());
+
+        assertThat(Cursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("should start from the newest row when no cursor is given")
+    void shouldStartFromNewest() {
+        Cursor start = Cursor.decode(null);
+
+        assertThat(start.createdAt()).isAfter(LocalDateTime.now());
+        assertThat(Cursor.decode(" ")).isEqualTo(start);
+    }
+
+    @Test
+    @DisplayName("should reject tampered cursors")
+    void shouldRejectTamperedCursor() {
+        assertThatThrownBy(() -> Cursor.decode("not-a-cursor"))
+                .isInstanceOf(JufaException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("should clamp page size")
+    void shouldClampSize() {
+        assertThat(Cursor.clampSize(0)).isEqualTo(1);
+        assertThat(Cursor.clampSize(500)).isEqualTo(Cursor.MAX_SIZE);
+        assertThat(Cursor.clampSize(20)).isEqualTo(20);
+    }
+}
@@ -0,0 +1,45 @@
+package ml.jufa.backend.common.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TimeOrderedUuid Tests")
+class TimeOrderedUuidTest {
+
+    @Test
+    @DisplayName("should produce RFC 9562 version 7 UUIDs")
+    void shouldProduceVersion7() {
+        UUID uuid = TimeOrderedUuid.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should embed the creation timestamp")
+    void shouldEmbedTimestamp() {
+        long millis = 1718000000123L;
+
+        assertThat(TimeOrderedUuid.timestampOf(TimeOrderedUuid.at(millis))).isEqualTo(millis);
+    }
+
+    @Test
+    @DisplayName("should sort by creation time in byte order")
+    void shouldSortByCreationTime() {
+        UUID earlier = TimeOrderedUuid.at(1718000000000L);
+        UUID later = TimeOrderedUuid.at(1718000000001L);
+
+        assertThat(earlier.toString()).isLessThan(later.toString());
+    }
+
+    @Test
+    @DisplayName("should reject random UUIDs when extracting a timestamp")
+    void shouldRejectRandomUuids() {
+        assertThatThrownBy(() -> TimeOrderedUuid.timestampOf(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package ml.jufa.backend.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReferenceGeneratorBenchmark {
+
+    private ReferenceGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new ReferenceGenerator(1);
+    }
+
+    @Benchmark
+    public String legacyFormat() {
+        return "JUF" + System.currentTimeMillis() + String.format("%04d", (int) (Math.random() * 10000));
+    }
+
+    @Benchmark
+    public String snowflake() {
+        return generator.next("JUF");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String legacyFormatContended() {
+        return legacyFormat();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String snowflakeContended() {
+        return generator.next("JUF");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReferenceGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package ml.jufa.backend.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ReferenceGenerator Tests")
+class ReferenceGeneratorTest {
+
+    @Test
+    @DisplayName("should generate fixed-width references with prefix")
+    void shouldGenerateFixedWidthReferences() {
+        ReferenceGenerator generator = new ReferenceGenerator(7);
+
+        String reference = generator.next("JUF");
+
+        assertThat(reference).startsWith("JUF").hasSize(3 + ReferenceGenerator.ENCODED_LENGTH);
+        assertThat(reference.substring(3)).matches("[0-9A-HJKMNP-TV-Z]+");
+    }
+
+    @Test
+    @DisplayName("should stay unique across threads")
+    void shouldStayUniqueAcrossThreads() throws InterruptedException {
+        ReferenceGenerator generator = new ReferenceGenerator(3);
+        Set<String> references = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    references.add(generator.next("CI"));
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(references).hasSize(160_000);
+    }
+
+    @Test
+    @DisplayName("should keep increasing when the clock goes backwards or stalls")
+    void shouldKeepIncreasingWhenClockGoesBackwards() {
+        AtomicLong clock = new AtomicLong(ReferenceGenerator.EPOCH_MILLIS + 10_000);
+        ReferenceGenerator generator = new ReferenceGenerator(1, clock::get);
+
+        long previous = generator.nextId();
+        clock.addAndGet(-5_000);
+        for (int i = 0; i < 10_000; i++) {
+            long next = generator.nextId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+}
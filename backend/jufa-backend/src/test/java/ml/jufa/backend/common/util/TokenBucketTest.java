@@ -0,0 +1,38 @@
+package ml.jufa.backend.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TokenBucket Tests")
+class TokenBucketTest {
+
+    @Test
+    @DisplayName("should refill tokens over time")
+    void shouldRefillOverTime() {
+        TokenBucket bucket = new TokenBucket(60, Duration.ofMinutes(1));
+        long start = System.nanoTime();
+        for (int i = 0; i < 60; i++) {
+            bucket.tryAcquire(start);
+        }
+
+        assertThat(bucket.tryAcquire(start)).isFalse();
+        assertThat(bucket.tryAcquire(start + Duration.ofSeconds(1).toNanos())).isTrue();
+        assertThat(bucket.tryAcquire(start + Duration.ofSeconds(1).toNanos())).isFalse();
+    }
+
+    @Test
+    @DisplayName("should report the wait for a batch of permits")
+    void shouldReportWaitForPermits() {
+        TokenBucket bucket = new TokenBucket(10, Duration.ofSeconds(1));
+        long start = System.nanoTime();
+
+        assertThat(bucket.tryAcquire(start, 10)).isTrue();
+        assertThat(bucket.nanosUntilAvailable(start, 5))
+                .isCloseTo(Duration.ofMillis(500).toNanos(), within(Duration.ofMillis(1).toNanos()));
+        assertThat(bucket.tryAcquire(start + Duration.ofMillis(500).toNanos(), 5)).isTrue();
+    }
+}
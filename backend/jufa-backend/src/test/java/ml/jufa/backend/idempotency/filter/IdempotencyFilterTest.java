@@ -0,0 +1,86 @@
+package ml.jufa.backend.idempotency.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import ml.jufa.backend.idempotency.store.InMemoryIdempotencyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("IdempotencyFilter Tests")
+class IdempotencyFilterTest {
+
+    private IdempotencyFilter filter;
+    private AtomicInteger invocations;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(
+                new InMemoryIdempotencyStore(100),
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                List.of("/v1/transactions/transfer"),
+                24,
+                30);
+        invocations = new AtomicInteger();
+        chain = (request, response) -> {
+            request.getInputStream().readAllBytes();
+            response.setContentType("application/json");
+            response.getWriter().write("{\"success\":true,\"call\":" + invocations.incrementAndGet() + "}");
+        };
+    }
+
+    @Test
+    @DisplayName("should replay stored response for a retried request")
+    void shouldReplayStoredResponse() throws Exception {
+        MockHttpServletResponse first = execute("key-1", "{\"amount\":1000}");
+        MockHttpServletResponse retry = execute("key-1", "{\"amount\":1000}");
+
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("should reject a reused key with a different payload")
+    void shouldRejectDifferentPayload() throws Exception {
+        execute("key-2", "{\"amount\":1000}");
+        MockHttpServletResponse retry = execute("key-2", "{\"amount\":2000}");
+
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(retry.getStatus()).isEqualTo(422);
+        assertThat(retry.getContentAsString()).contains("JUFA-IDEM-001");
+    }
+
+    @Test
+    @DisplayName("should pass through requests without a key")
+    void shouldPassThroughWithoutKey() throws Exception {
+        execute(null, "{\"amount\":1000}");
+        execute(null, "{\"amount\":1000}");
+
+        assertThat(invocations.get()).isEqualTo(2);
+    }
+
+    private MockHttpServletResponse execute(String key, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/transactions/transfer");
+        request.setContextPath("/api");
+        request.setServletPath("/v1/transactions/transfer");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes());
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,117 @@
+package ml.jufa.backend.integration;
+
+import ml.jufa.backend.agent.entity.AgentDailyReport;
+import ml.jufa.backend.agent.repository.AgentDailyReportDelta;
+import ml.jufa.backend.agent.repository.AgentDailyReportRepository;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.user.entity.UserStatus;
+import ml.jufa.backend.user.entity.UserType;
+import ml.jufa.backend.user.repository.UserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:agent-daily-report;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+@DisplayName("Agent Daily Report Upsert Integration Tests")
+class AgentDailyReportUpsertIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    @Autowired
+    private AgentDailyReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User agent;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        agent = userRepository.save(User.builder()
+                .phone("+22370009991")
+                .passwordHash("hash")
+                .userType(UserType.AGENT)
+                .status(UserStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should insert the first delta of a day as a new report")
+    void shouldInsertFirstDelta() {
+        upsert(List.of(cashIn(DAY, "10000", "100", "50")));
+
+        AgentDailyReport report = report(DAY);
+        assertThat(report.getCashInCount()).isEqualTo(1);
+        assertThat(report.getCashInAmount()).isEqualByComparingTo("10000");
+        assertThat(report.getCashOutCount()).isZero();
+        assertThat(report.getTotalCommission()).isEqualByComparingTo("100");
+        assertThat(report.getTotalFees()).isEqualByComparingTo("50");
+    }
+
+    @Test
+    @DisplayName("should accumulate repeated upserts of the same agent and day")
+    void shouldAccumulateRepeatedUpserts() {
+        upsert(List.of(cashIn(DAY, "10000", "100", "50")));
+        upsert(List.of(cashOut(DAY, "4000", "40", "20")));
+        upsert(List.of(cashIn(DAY, "2500", "25", "10"), cashOut(DAY, "1000", "10", "5")));
+
+        AgentDailyReport report = report(DAY);
+        assertThat(report.getCashInCount()).isEqualTo(2);
+        assertThat(report.getCashInAmount()).isEqualByComparingTo("12500");
+        assertThat(report.getCashOutCount()).isEqualTo(2);
+        assertThat(report.getCashOutAmount()).isEqualByComparingTo("5000");
+        assertThat(report.getTotalCommission()).isEqualByComparingTo("175");
+        assertThat(report.getTotalFees()).isEqualByComparingTo("85");
+        assertThat(reportRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should keep one report per day")
+    void shouldSeparateDays() {
+        upsert(List.of(cashIn(DAY, "10000", "100", "50"), cashIn(DAY.plusDays(1), "3000", "30", "15")));
+
+        assertThat(report(DAY).getCashInAmount()).isEqualByComparingTo("10000");
+        assertThat(report(DAY.plusDays(1)).getCashInAmount()).isEqualByComparingTo("3000");
+        assertThat(reportRepository.count()).isEqualTo(2);
+    }
+
+    private void upsert(Collection<AgentDailyReportDelta> deltas) {
+        transactionTemplate.executeWithoutResult(status -> reportRepository.upsert(deltas));
+    }
+
+    private AgentDailyReport report(LocalDate day) {
+        return reportRepository.findByAgentAndReportDate(agent, day).orElseThrow();
+    }
+
+    private AgentDailyReportDelta cashIn(LocalDate day, String amount, String commission, String fee) {
+        return new AgentDailyReportDelta(agent.getId(), day, 1, new BigDecimal(amount), 0, BigDecimal.ZERO,
+                new BigDecimal(commission), new BigDecimal(fee));
+    }
+
+    private AgentDailyReportDelta cashOut(LocalDate day, String amount, String commission, String fee) {
+        return new AgentDailyReportDelta(agent.getId(), day, 0, BigDecimal.ZERO, 1, new BigDecimal(amount),
+                new BigDecimal(commission), new BigDecimal(fee));
+    }
+}
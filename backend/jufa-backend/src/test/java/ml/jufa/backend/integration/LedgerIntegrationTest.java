@@ -0,0 +1,148 @@
+package ml.jufa.backend.integration;
+
+import ml.jufa.backend.ledger.entity.LedgerAccount;
+import ml.jufa.backend.ledger.entity.LedgerCheckpoint;
+import ml.jufa.backend.ledger.entity.LedgerEntryType;
+import ml.jufa.backend.ledger.repository.LedgerCheckpointRepository;
+import ml.jufa.backend.ledger.repository.LedgerEntryRepository;
+import ml.jufa.backend.ledger.service.LedgerMovement;
+import ml.jufa.backend.ledger.service.LedgerService;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.user.entity.UserStatus;
+import ml.jufa.backend.user.entity.UserType;
+import ml.jufa.backend.user.repository.UserRepository;
+import ml.jufa.backend.wallet.entity.Wallet;
+import ml.jufa.backend.wallet.entity.WalletType;
+import ml.jufa.backend.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ledger;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jufa.ledger.checkpoint-lag-seconds=0",
+        "jufa.ledger.rebuild-batch-size=2"
+})
+@ActiveProfiles("test")
+@DisplayName("Ledger Integration Tests")
+class LedgerIntegrationTest {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerEntryRepository entryRepository;
+
+    @Autowired
+    private LedgerCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID senderWalletId;
+    private UUID receiverWalletId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        senderWalletId = createWallet("+22370007771", new BigDecimal("10000"));
+        receiverWalletId = createWallet("+22370007772", BigDecimal.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entryRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        walletRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should move wallet balances and record one entry per movement")
+    void shouldPostMovements() {
+        transfer("JUF-1", "2500", "25");
+
+        assertThat(balance(senderWalletId)).isEqualByComparingTo("7475");
+        assertThat(balance(receiverWalletId)).isEqualByComparingTo("2500");
+        assertThat(entryRepository.findByReferenceOrderBySequence("JUF-1"))
+                .extracting("entryType")
+                .containsExactly(LedgerEntryType.TRANSFER, LedgerEntryType.FEE);
+        assertThat(ledgerService.reconcile(senderWalletId)).isTrue();
+        assertThat(ledgerService.reconcile(receiverWalletId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should resume a rebuild from the stored checkpoint")
+    void shouldRebuildFromCheckpoint() throws InterruptedException {
+        transfer("JUF-1", "2500", "25");
+        transfer("JUF-2", "1000", "10");
+        Thread.sleep(20);
+
+        LedgerCheckpoint first = ledgerService.rebuild(senderWalletId);
+        assertThat(first.getBalance()).isEqualByComparingTo("6465");
+
+        transfer("JUF-3", "400", "4");
+        Thread.sleep(20);
+
+        LedgerCheckpoint second = ledgerService.rebuild(senderWalletId);
+        assertThat(second.getLastSequence()).isGreaterThan(first.getLastSequence());
+        assertThat(second.getBalance()).isEqualByComparingTo("6061");
+        assertThat(ledgerService.derivedBalance(senderWalletId)).isEqualByComparingTo(balance(senderWalletId));
+    }
+
+    @Test
+    @DisplayName("should report wallets whose balance drifted from the ledger")
+    void shouldReconcileDrift() {
+        transfer("JUF-1", "2500", "25");
+        transactionTemplate.executeWithoutResult(status ->
+                walletRepository.creditIfActive(receiverWalletId, new BigDecimal("100")));
+
+        assertThat(ledgerService.reconcile(receiverWalletId)).isFalse();
+        assertThat(ledgerService.reconcileAll()).containsExactly(receiverWalletId);
+    }
+
+    private void transfer(String reference, String amount, String fee) {
+        ledgerService.post(List.of(
+                LedgerMovement.walletToWallet(LedgerEntryType.TRANSFER, senderWalletId, receiverWalletId,
+                        new BigDecimal(amount), reference),
+                LedgerMovement.walletToAccount(LedgerEntryType.FEE, senderWalletId, LedgerAccount.FEE_REVENUE,
+                        new BigDecimal(fee), reference)));
+    }
+
+    private BigDecimal balance(UUID walletId) {
+        return walletRepository.findById(walletId).orElseThrow().getBalance();
+    }
+
+    private UUID createWallet(String phone, BigDecimal openingBalance) {
+        User user = userRepository.save(User.builder()
+                .phone(phone)
+                .passwordHash("hash")
+                .userType(UserType.INDIVIDUAL)
+                .status(UserStatus.ACTIVE)
+                .build());
+        Wallet wallet = Wallet.builder()
+                .user(user)
+                .walletType(WalletType.B2C)
+                .build();
+        wallet.credit(openingBalance);
+        Wallet saved = walletRepository.save(wallet);
+        ledgerService.recordOpeningBalance(saved);
+        return saved.getId();
+    }
+}
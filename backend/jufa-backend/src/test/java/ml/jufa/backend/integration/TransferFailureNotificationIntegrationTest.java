@@ -0,0 +1,134 @@
+package ml.jufa.backend.integration;
+
+import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.ledger.service.LedgerService;
+import ml.jufa.backend.notification.entity.NotificationOutbox;
+import ml.jufa.backend.notification.entity.NotificationType;
+import ml.jufa.backend.notification.repository.NotificationOutboxRepository;
+import ml.jufa.backend.notification.service.NotificationOutboxDispatcher;
+import ml.jufa.backend.transaction.dto.TransferRequest;
+import ml.jufa.backend.transaction.entity.Transaction;
+import ml.jufa.backend.transaction.entity.TransactionStatus;
+import ml.jufa.backend.transaction.repository.TransactionRepository;
+import ml.jufa.backend.transaction.service.TransactionService;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.user.entity.UserStatus;
+import ml.jufa.backend.user.entity.UserType;
+import ml.jufa.backend.user.repository.UserRepository;
+import ml.jufa.backend.wallet.entity.Wallet;
+import ml.jufa.backend.wallet.entity.WalletType;
+import ml.jufa.backend.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:transfer-failure;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("test")
+@DisplayName("Transfer Failure Notification Integration Tests")
+class TransferFailureNotificationIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @MockBean
+    private LedgerService ledgerService;
+
+    @MockBean
+    private NotificationOutboxDispatcher outboxDispatcher;
+
+    private User sender;
+    private User receiver;
+
+    @BeforeEach
+    void setUp() {
+        sender = createUser("+22370005551");
+        receiver = createUser("+22370005552");
+        createWallet(sender, new BigDecimal("50000"));
+        createWallet(receiver, BigDecimal.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+        transactionRepository.deleteAll();
+        walletRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should record the failed transfer and exactly one failure notification after the rollback")
+    void shouldKeepFailureNotificationWhenTransferRollsBack() throws InterruptedException {
+        doThrow(new JufaException("JUFA-WALLET-006", "Wallet is busy, please retry"))
+                .when(ledgerService).post(anyList());
+
+        TransferRequest request = new TransferRequest();
+        request.setReceiverPhone(receiver.getPhone());
+        request.setAmount(new BigDecimal("1000"));
+
+        assertThatThrownBy(() -> transactionService.transfer(sender, request))
+                .isInstanceOf(JufaException.class)
+                .extracting("code")
+                .isEqualTo("JUFA-TX-003");
+
+        List<NotificationOutbox> entries = awaitOutboxEntries();
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getUserId()).isEqualTo(sender.getId());
+        assertThat(entries.get(0).getType()).isEqualTo(NotificationType.TRANSACTION_FAILED);
+        assertThat(entries.get(0).getData()).containsEntry("type", NotificationType.TRANSACTION_FAILED.name());
+
+        List<Transaction> transactions = transactionRepository.findAll();
+        assertThat(transactions).hasSize(1);
+        assertThat(transactions.get(0).getStatus()).isEqualTo(TransactionStatus.FAILED);
+        assertThat(transactions.get(0).getReference()).isEqualTo(entries.get(0).getReferenceId());
+    }
+
+    private List<NotificationOutbox> awaitOutboxEntries() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<NotificationOutbox> entries = outboxRepository.findAll();
+        while (entries.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            entries = outboxRepository.findAll();
+        }
+        Thread.sleep(200);
+        return outboxRepository.findAll();
+    }
+
+    private User createUser(String phone) {
+        return userRepository.save(User.builder()
+                .phone(phone)
+                .passwordHash("hash")
+                .userType(UserType.INDIVIDUAL)
+                .status(UserStatus.ACTIVE)
+                .build());
+    }
+
+    private void createWallet(User user, BigDecimal balance) {
+        Wallet wallet = Wallet.builder()
+                .user(user)
+                .walletType(WalletType.B2C)
+                .build();
+        wallet.credit(balance);
+        walletRepository.save(wallet);
+    }
+}
@@ -0,0 +1,192 @@
+package ml.jufa.backend.integration;
+
+import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.user.entity.UserStatus;
+import ml.jufa.backend.user.entity.UserType;
+import ml.jufa.backend.user.repository.UserRepository;
+import ml.jufa.backend.wallet.entity.Wallet;
+import ml.jufa.backend.wallet.entity.WalletType;
+import ml.jufa.backend.wallet.repository.WalletRepository;
+import ml.jufa.backend.wallet.service.WalletLockService;
+import ml.jufa.backend.wallet.service.WalletPostingService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:wallet-lock-contention;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jufa.wallet.lock.timeout-ms=100",
+        "jufa.wallet.lock.max-attempts=50",
+        "jufa.wallet.lock.initial-backoff-ms=20",
+        "jufa.wallet.lock.max-backoff-ms=50"
+})
+@ActiveProfiles("test")
+@DisplayName("Wallet Lock Contention Integration Tests")
+class WalletLockContentionIntegrationTest {
+
+    private static final long HOLD_MS = 400;
+
+    @Autowired
+    private WalletPostingService walletPostingService;
+
+    @Autowired
+    private WalletLockService walletLockService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+    private UUID walletId;
+    private UUID otherWalletId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newSingleThreadExecutor();
+        walletId = createWallet("+22370006661");
+        otherWalletId = createWallet("+22370006662");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        walletRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should commit a posting whose lock attempts timed out while another transaction held the wallet")
+    void shouldCommitPostingRetriedAfterLockTimeout() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            walletLockService.lock(walletId);
+            locked.countDown();
+            sleep(HOLD_MS);
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status ->
+                walletPostingService.debit(walletId, new BigDecimal("1000")));
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        holder.get(5, TimeUnit.SECONDS);
+
+        assertThat(waitedMs).isGreaterThanOrEqualTo(HOLD_MS / 2);
+        assertThat(walletRepository.findById(walletId).orElseThrow().getBalance())
+                .isEqualByComparingTo("49000");
+    }
+
+    @Test
+    @DisplayName("should commit a credit retried behind another transaction holding the wallet row")
+    void shouldCommitCreditRetriedBehindLockedWallet() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            walletLockService.lockRows(List.of(walletId));
+            locked.countDown();
+            sleep(HOLD_MS);
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        transactionTemplate.executeWithoutResult(status ->
+                walletPostingService.credit(walletId, new BigDecimal("2500")));
+        holder.get(5, TimeUnit.SECONDS);
+
+        assertThat(walletRepository.findById(walletId).orElseThrow().getBalance())
+                .isEqualByComparingTo("52500");
+    }
+
+    @Test
+    @DisplayName("should lock several wallets in id order whatever order they are requested in")
+    void shouldLockWalletsInIdOrder() {
+        List<UUID> expected = List.of(walletId, otherWalletId).stream()
+                .sorted(WalletLockService.LOCK_ORDER)
+                .toList();
+
+        Map<UUID, Wallet> locked = transactionTemplate.execute(status ->
+                walletLockService.lockAll(List.of(expected.get(1), expected.get(0), expected.get(1))));
+
+        assertThat(locked.keySet()).containsExactlyElementsOf(expected);
+        assertThat(locked.values()).extracting(Wallet::getBalance)
+                .allSatisfy(balance -> assertThat(balance).isEqualByComparingTo("50000"));
+    }
+
+    @Test
+    @DisplayName("should let opposite-order lock requests queue instead of deadlocking")
+    void shouldSerializeOppositeOrderLocks() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            walletLockService.lockAll(List.of(walletId, otherWalletId));
+            locked.countDown();
+            sleep(HOLD_MS);
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Map<UUID, Wallet> wallets = transactionTemplate.execute(status ->
+                walletLockService.lockAll(List.of(otherWalletId, walletId)));
+        holder.get(5, TimeUnit.SECONDS);
+
+        assertThat(wallets).containsOnlyKeys(walletId, otherWalletId);
+    }
+
+    @Test
+    @DisplayName("should reject a lock request naming an unknown wallet")
+    void shouldRejectUnknownWallet() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                walletLockService.lockAll(List.of(walletId, UUID.randomUUID()))))
+                .isInstanceOf(JufaException.class)
+                .hasMessageContaining("Wallet not found");
+    }
+
+    @Test
+    @DisplayName("should refuse to lock wallets outside a transaction")
+    void shouldRequireTransaction() {
+        assertThatThrownBy(() -> walletLockService.lock(walletId))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private UUID createWallet(String phone) {
+        User user = userRepository.save(User.builder()
+                .phone(phone)
+                .passwordHash("hash")
+                .userType(UserType.INDIVIDUAL)
+                .status(UserStatus.ACTIVE)
+                .build());
+        Wallet wallet = Wallet.builder()
+                .user(user)
+                .walletType(WalletType.B2C)
+                .build();
+        wallet.credit(new BigDecimal("50000"));
+        return walletRepository.save(wallet).getId();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
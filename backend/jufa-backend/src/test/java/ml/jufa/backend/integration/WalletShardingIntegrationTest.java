@@ -0,0 +1,150 @@
+package ml.jufa.backend.integration;
+
+import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.user.entity.UserStatus;
+import ml.jufa.backend.user.entity.UserType;
+import ml.jufa.backend.user.repository.UserRepository;
+import ml.jufa.backend.wallet.entity.Wallet;
+import ml.jufa.backend.wallet.entity.WalletType;
+import ml.jufa.backend.wallet.repository.WalletRepository;
+import ml.jufa.backend.wallet.repository.WalletShardRepository;
+import ml.jufa.backend.wallet.service.WalletPostingService;
+import ml.jufa.backend.wallet.service.WalletShardService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:wallet-sharding;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "jufa.wallet.sharding.shard-count=4",
+        "jufa.wallet.sharding.wallet-types=B2B"
+})
+@ActiveProfiles("test")
+@DisplayName("Wallet Sharding Integration Tests")
+class WalletShardingIntegrationTest {
+
+    @Autowired
+    private WalletPostingService walletPostingService;
+
+    @Autowired
+    private WalletShardService walletShardService;
+
+    @Autowired
+    private WalletShardRepository walletShardRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        User user = userRepository.save(User.builder()
+                .phone("+22370008881")
+                .passwordHash("hash")
+                .userType(UserType.MERCHANT)
+                .status(UserStatus.ACTIVE)
+                .build());
+        walletId = transactionTemplate.execute(status -> {
+            Wallet wallet = walletRepository.save(Wallet.builder()
+                    .user(user)
+                    .walletType(WalletType.B2B)
+                    .shardCount(walletShardService.shardCountFor(WalletType.B2B))
+                    .build());
+            walletShardService.createShards(wallet);
+            return wallet.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        walletShardRepository.deleteAll();
+        walletRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should credit a sharded wallet through its shards and report the total balance")
+    void shouldCreditShards() {
+        post(() -> walletPostingService.credit(walletId, new BigDecimal("1500")));
+        post(() -> walletPostingService.credit(walletId, new BigDecimal("500")));
+
+        Wallet wallet = wallet();
+        assertThat(wallet.isSharded()).isTrue();
+        assertThat(wallet.getBalance()).isEqualByComparingTo("0");
+        assertThat(wallet.getShardBalance()).isEqualByComparingTo("2000");
+        assertThat(wallet.getTotalBalance()).isEqualByComparingTo("2000");
+        assertThat(wallet.getTotalAvailableBalance()).isEqualByComparingTo("2000");
+        assertThat(walletShardRepository.sumBalanceByWalletId(walletId)).isEqualByComparingTo("2000");
+    }
+
+    @Test
+    @DisplayName("should sweep the shards into the wallet row before debiting it")
+    void shouldSweepThenDebit() {
+        post(() -> walletPostingService.credit(walletId, new BigDecimal("3000")));
+
+        post(() -> walletPostingService.debit(walletId, new BigDecimal("2000")));
+
+        Wallet wallet = wallet();
+        assertThat(wallet.getBalance()).isEqualByComparingTo("1000");
+        assertThat(wallet.getAvailableBalance()).isEqualByComparingTo("1000");
+        assertThat(wallet.getShardBalance()).isEqualByComparingTo("0");
+        assertThat(wallet.getTotalBalance()).isEqualByComparingTo("1000");
+    }
+
+    @Test
+    @DisplayName("should reject a debit above the wallet and shard total")
+    void shouldRejectDebitAboveTotal() {
+        post(() -> walletPostingService.credit(walletId, new BigDecimal("3000")));
+
+        assertThatThrownBy(() -> post(() -> walletPostingService.debit(walletId, new BigDecimal("3001"))))
+                .isInstanceOf(JufaException.class)
+                .hasMessageContaining("Insufficient balance");
+
+        assertThat(wallet().getTotalBalance()).isEqualByComparingTo("3000");
+    }
+
+    @Test
+    @DisplayName("should reject credits and debits on an inactive sharded wallet")
+    void shouldRejectPostingsOnInactiveWallet() {
+        post(() -> walletPostingService.credit(walletId, new BigDecimal("3000")));
+        transactionTemplate.executeWithoutResult(status -> {
+            Wallet wallet = walletRepository.findById(walletId).orElseThrow();
+            wallet.setStatus(Wallet.WalletStatus.FROZEN);
+        });
+
+        assertThatThrownBy(() -> post(() -> walletPostingService.credit(walletId, new BigDecimal("100"))))
+                .isInstanceOf(JufaException.class)
+                .hasMessageContaining("not active");
+        assertThatThrownBy(() -> post(() -> walletPostingService.debit(walletId, new BigDecimal("100"))))
+                .isInstanceOf(JufaException.class)
+                .hasMessageContaining("not active");
+
+        assertThat(wallet().getTotalBalance()).isEqualByComparingTo("3000");
+    }
+
+    private void post(Runnable posting) {
+        transactionTemplate.executeWithoutResult(status -> posting.run());
+    }
+
+    private Wallet wallet() {
+        return walletRepository.findById(walletId).orElseThrow();
+    }
+}
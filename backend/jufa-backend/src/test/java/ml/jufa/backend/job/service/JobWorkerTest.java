@@ -0,0 +1,240 @@
+package ml.jufa.backend.job.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ml.jufa.backend.job.entity.DeadLetterJob;
+import ml.jufa.backend.job.entity.Job;
+import ml.jufa.backend.job.entity.JobStatus;
+import ml.jufa.backend.job.repository.DeadLetterJobRepository;
+import ml.jufa.backend.job.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobWorker Tests")
+class JobWorkerTest {
+
+    private static final String NODE = "node-1";
+    private static final String TYPE = "test.job";
+
+    @Mock
+    private JobRepository jobRepository;
+    @Mock
+    private DeadLetterJobRepository deadLetterJobRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecordingHandler handler;
+    private JobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        handler = new RecordingHandler();
+        worker = new JobWorker(jobRepository, deadLetterJobRepository, new ObjectMapper(), transactionManager,
+                List.of(handler), NODE, 1, 10, 60, 1000, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.destroy();
+    }
+
+    @Test
+    @DisplayName("should lease claimed jobs to this node")
+    void shouldLeaseClaimedJobs() {
+        Job due = job(TYPE, 0, 3);
+        when(jobRepository.findDueForUpdate(any(), eq(JobStatus.PENDING), eq(JobStatus.RUNNING), any()))
+                .thenReturn(List.of(due));
+
+        List<Job> claimed = worker.claim(5);
+
+        assertThat(claimed).containsExactly(due);
+        assertThat(due.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(due.getLockedBy()).isEqualTo(NODE);
+        assertThat(due.getAttempts()).isEqualTo(1);
+        assertThat(due.getLockedUntil()).isAfter(LocalDateTime.now().plusSeconds(55));
+    }
+
+    @Test
+    @DisplayName("should delete the job once its handler succeeds")
+    void shouldDeleteCompletedJob() {
+        Job job = job(TYPE, 1, 3);
+        when(jobRepository.deleteLeased(job.getId(), NODE)).thenReturn(1);
+
+        worker.run(job);
+
+        assertThat(handler.handled).containsExactly(new TestPayload("ok"));
+        verify(jobRepository, never()).findById(any());
+        verifyNoInteractions(deadLetterJobRepository);
+    }
+
+    @Test
+    @DisplayName("should reschedule a failed job with exponential backoff")
+    void shouldRetryWithBackoff() {
+        handler.failure = new IllegalStateException("provider down");
+        Job job = job(TYPE, 2, 5);
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        LocalDateTime before = LocalDateTime.now();
+
+        worker.run(job);
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.PENDING);
+        assertThat(job.getLockedBy()).isNull();
+        assertThat(job.getLastError()).isEqualTo("provider down");
+        assertThat(job.getRunAt())
+                .isAfterOrEqualTo(before.plusNanos(1_000_000_000L))
+                .isBeforeOrEqualTo(LocalDateTime.now().plusNanos(2_000_000_000L));
+        verifyNoInteractions(deadLetterJobRepository);
+        assertThat(handler.deadLettered).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should dead-letter an exhausted job and run the dead-letter hook")
+    void shouldDeadLetterExhaustedJob() {
+        handler.failure = new IllegalStateException("provider down");
+        Job job = job(TYPE, 3, 3);
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        worker.run(job);
+
+        ArgumentCaptor<DeadLetterJob> captor = ArgumentCaptor.forClass(DeadLetterJob.class);
+        verify(deadLetterJobRepository).save(captor.capture());
+        assertThat(captor.getValue().getJobId()).isEqualTo(job.getId());
+        assertThat(captor.getValue().getAttempts()).isEqualTo(3);
+        assertThat(captor.getValue().getLastError()).isEqualTo("provider down");
+        verify(jobRepository).delete(job);
+        assertThat(handler.deadLettered).containsExactly("provider down");
+    }
+
+    @Test
+    @DisplayName("should dead-letter a job without a registered handler immediately")
+    void shouldDeadLetterUnknownJobType() {
+        Job job = job("unknown.job", 1, 5);
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        worker.run(job);
+
+        ArgumentCaptor<DeadLetterJob> captor = ArgumentCaptor.forClass(DeadLetterJob.class);
+        verify(deadLetterJobRepository).save(captor.capture());
+        assertThat(captor.getValue().getType()).isEqualTo("unknown.job");
+        assertThat(captor.getValue().getLastError()).contains("No handler registered");
+        verify(jobRepository).delete(job);
+        assertThat(handler.handled).isEmpty();
+        assertThat(handler.deadLettered).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should leave a job alone once another node has taken over its lease")
+    void shouldNotTouchJobLeasedElsewhere() {
+        handler.failure = new IllegalStateException("provider down");
+        Job job = job(TYPE, 3, 3);
+        Job current = job(TYPE, 4, 3);
+        current.setId(job.getId());
+        current.setLockedBy("node-2");
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(current));
+
+        worker.run(job);
+
+        verifyNoInteractions(deadLetterJobRepository);
+        verify(jobRepository, never()).delete(any());
+        assertThat(current.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(handler.deadLettered).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should renew the lease of jobs that are still running")
+    void shouldRenewRunningLeases() throws Exception {
+        handler.started = new CountDownLatch(1);
+        handler.release = new CountDownLatch(1);
+        Job job = job(TYPE, 1, 3);
+        when(jobRepository.renewLeases(any(), eq(NODE), eq(JobStatus.RUNNING), any())).thenReturn(1);
+        when(jobRepository.deleteLeased(job.getId(), NODE)).thenReturn(1);
+
+        Thread runner = new Thread(() -> worker.run(job));
+        runner.start();
+        assertThat(handler.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        worker.renewLeases();
+
+        handler.release.countDown();
+        runner.join(5_000);
+        verify(jobRepository).renewLeases(eq(List.of(job.getId())), eq(NODE), eq(JobStatus.RUNNING),
+                any(LocalDateTime.class));
+        verify(jobRepository).deleteLeased(job.getId(), NODE);
+
+        worker.renewLeases();
+        verifyNoMoreInteractions(jobRepository);
+    }
+
+    private static Job job(String type, int attempts, int maxAttempts) {
+        Job job = Job.builder()
+                .type(type)
+                .payload("{\"value\":\"ok\"}")
+                .maxAttempts(maxAttempts)
+                .runAt(LocalDateTime.now())
+                .build();
+        job.setId(UUID.randomUUID());
+        for (int i = 0; i < attempts; i++) {
+            job.lease(NODE, LocalDateTime.now().plusSeconds(60));
+        }
+        return job;
+    }
+
+    record TestPayload(String value) {
+    }
+
+    private static class RecordingHandler implements JobHandler<TestPayload> {
+
+        private final List<TestPayload> handled = new CopyOnWriteArrayList<>();
+        private final List<String> deadLettered = new CopyOnWriteArrayList<>();
+        private RuntimeException failure;
+        private CountDownLatch started;
+        private CountDownLatch release;
+
+        @Override
+        public String type() {
+            return TYPE;
+        }
+
+        @Override
+        public Class<TestPayload> payloadType() {
+            return TestPayload.class;
+        }
+
+        @Override
+        public void handle(TestPayload payload) throws Exception {
+            if (started != null) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            handled.add(payload);
+        }
+
+        @Override
+        public void onDeadLetter(TestPayload payload, String error) {
+            deadLettered.add(error);
+        }
+    }
+}
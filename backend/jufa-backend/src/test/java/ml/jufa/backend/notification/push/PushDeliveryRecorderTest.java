@@ -0,0 +1,85 @@
+package ml.jufa.backend.notification.push;
+
+import ml.jufa.backend.notification.repository.NotificationRepository;
+import ml.jufa.backend.security.principal.UserPrincipalCache;
+import ml.jufa.backend.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PushDeliveryRecorder Tests")
+class PushDeliveryRecorderTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PushDeliveryRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new PushDeliveryRecorder(notificationRepository, userRepository, userPrincipalCache,
+                transactionManager);
+    }
+
+    @Test
+    @DisplayName("should clear only the token that FCM reported as unregistered")
+    void shouldClearStaleTokenOnly() {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.clearFcmToken(userId, "token-stale")).thenReturn(1);
+
+        recorder.record(List.of(), Map.of(userId, "token-stale"));
+
+        verify(userRepository).clearFcmToken(userId, "token-stale");
+        verify(userRepository, never()).updateFcmToken(any(), any());
+        verify(userPrincipalCache).evict(userId);
+    }
+
+    @Test
+    @DisplayName("should keep a token the user re-registered while the push was in flight")
+    void shouldKeepReplacedToken() {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.clearFcmToken(userId, "token-stale")).thenReturn(0);
+
+        recorder.record(List.of(), Map.of(userId, "token-stale"));
+
+        verify(userPrincipalCache, never()).evict(any());
+    }
+
+    @Test
+    @DisplayName("should mark delivered notifications as sent")
+    void shouldMarkSentNotifications() {
+        List<UUID> sent = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        recorder.record(sent, Map.of());
+
+        verify(notificationRepository).markPushSent(eq(sent), any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("should not open a transaction when there is nothing to record")
+    void shouldSkipEmptyResults() {
+        recorder.record(List.of(), Map.of());
+
+        verifyNoInteractions(transactionManager, notificationRepository, userRepository);
+    }
+}
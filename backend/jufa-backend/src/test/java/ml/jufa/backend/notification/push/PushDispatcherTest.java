@@ -0,0 +1,113 @@
+package ml.jufa.backend.notification.push;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PushDispatcher Tests")
+class PushDispatcherTest {
+
+    @Mock
+    private PushDeliveryRecorder recorder;
+
+    private StubPushGateway gateway;
+    private PushDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        gateway = new StubPushGateway();
+        dispatcher = new PushDispatcher(gateway, recorder, 10_000, 10_000);
+    }
+
+    @Test
+    @DisplayName("should coalesce pushes for the same token into a summary")
+    void shouldCoalescePushesForSameToken() {
+        UUID userId = UUID.randomUUID();
+        PushMessage first = push(userId, "token-a");
+        PushMessage second = push(userId, "token-a");
+        PushMessage other = push(UUID.randomUUID(), "token-b");
+
+        dispatcher.enqueue(List.of(first, second, other));
+        dispatcher.flush();
+
+        assertThat(gateway.batches).hasSize(1);
+        List<PushMessage> sent = gateway.batches.get(0);
+        assertThat(sent).hasSize(2);
+        assertThat(sent.get(0).data()).containsEntry("type", "SUMMARY").containsEntry("count", "2");
+        assertThat(sent.get(0).notificationIds())
+                .containsExactly(first.notificationIds().get(0), second.notificationIds().get(0));
+        assertThat(sent.get(1)).isEqualTo(other);
+    }
+
+    @Test
+    @DisplayName("should split pushes into FCM-sized batches")
+    void shouldSplitIntoFcmBatches() {
+        List<PushMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            messages.add(push(UUID.randomUUID(), "token-" + i));
+        }
+
+        dispatcher.enqueue(messages);
+        dispatcher.flush();
+
+        assertThat(gateway.batches).extracting(List::size).containsExactly(500, 500, 200);
+        verify(recorder, times(3)).record(any(), any());
+    }
+
+    @Test
+    @DisplayName("should report sent notifications and the unregistered token of each user")
+    @SuppressWarnings("unchecked")
+    void shouldReportDeliveryResults() {
+        PushMessage delivered = push(UUID.randomUUID(), "token-ok");
+        PushMessage stale = push(UUID.randomUUID(), "token-stale");
+        gateway.unregisteredTokens.add("token-stale");
+
+        dispatcher.enqueue(List.of(delivered, stale));
+        dispatcher.flush();
+
+        ArgumentCaptor<Collection<UUID>> sent = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Map<UUID, String>> unregistered = ArgumentCaptor.forClass(Map.class);
+        verify(recorder).record(sent.capture(), unregistered.capture());
+        assertThat(sent.getValue()).containsExactlyElementsOf(delivered.notificationIds());
+        assertThat(unregistered.getValue()).containsExactly(entry(stale.userId(), "token-stale"));
+    }
+
+    private static PushMessage push(UUID userId, String token) {
+        return new PushMessage(userId, token, "Paiement reçu", "Vous avez reçu 1000 XOF",
+                Map.of("type", "TRANSACTION_RECEIVED"), List.of(UUID.randomUUID()));
+    }
+
+    private static class StubPushGateway implements PushGateway {
+
+        private final List<List<PushMessage>> batches = new ArrayList<>();
+        private final List<String> unregisteredTokens = new ArrayList<>();
+
+        @Override
+        public List<PushResult> send(List<PushMessage> messages) {
+            batches.add(List.copyOf(messages));
+            List<PushResult> results = new ArrayList<>(Collections.nCopies(messages.size(), PushResult.SENT));
+            for (int i = 0; i < messages.size(); i++) {
+                if (unregisteredTokens.contains(messages.get(i).fcmToken())) {
+                    results.set(i, PushResult.UNREGISTERED);
+                }
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package ml.jufa.backend.notification.service;
+
+import ml.jufa.backend.config.TestConfig;
+import ml.jufa.backend.notification.entity.Notification;
+import ml.jufa.backend.notification.entity.NotificationOutbox;
+import ml.jufa.backend.notification.entity.NotificationType;
+import ml.jufa.backend.notification.push.PushDispatcher;
+import ml.jufa.backend.notification.push.PushMessage;
+import ml.jufa.backend.notification.repository.NotificationOutboxRepository;
+import ml.jufa.backend.notification.repository.NotificationRepository;
+import ml.jufa.backend.realtime.service.RealtimeEvent;
+import ml.jufa.backend.realtime.service.RealtimeEventPublisher;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.user.repository.UserFcmToken;
+import ml.jufa.backend.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationOutboxDispatcher Tests")
+class NotificationOutboxDispatcherTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PushDispatcher pushDispatcher;
+    @Mock
+    private RealtimeEventPublisher eventPublisher;
+    @Mock
+    private UnreadCounterService unreadCounterService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationOutboxDispatcher dispatcher;
+    private User withToken;
+    private User withoutToken;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new NotificationOutboxDispatcher(outboxRepository, notificationRepository, userRepository,
+                pushDispatcher, eventPublisher, unreadCounterService, transactionManager, BATCH_SIZE);
+        withToken = TestConfig.createTestUser();
+        withoutToken = TestConfig.createTestMerchant();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+    }
+
+    @Test
+    @DisplayName("should store claimed entries as notifications and delete them from the outbox")
+    void shouldStoreAndDeleteClaimedBatch() {
+        NotificationOutbox entry = entry(withToken, "Paiement reçu");
+        List<NotificationOutbox> batch = List.of(entry);
+        when(outboxRepository.findBatchForUpdate(any())).thenReturn(batch);
+        stubUsers(List.of(new UserFcmToken(withToken.getId(), "token-a")));
+
+        dispatcher.drain();
+
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(notification -> {
+            assertThat(notification.getUser()).isEqualTo(withToken);
+            assertThat(notification.getType()).isEqualTo(NotificationType.TRANSACTION_RECEIVED);
+            assertThat(notification.getTitle()).isEqualTo("Paiement reçu");
+            assertThat(notification.getData()).containsEntry("transactionRef", "JUF123");
+            assertThat(notification.getReferenceId()).isEqualTo("JUF123");
+        });
+        verify(outboxRepository).deleteAllInBatch(batch);
+
+        ArgumentCaptor<List<PushMessage>> pushes = ArgumentCaptor.forClass(List.class);
+        verify(pushDispatcher).enqueue(pushes.capture());
+        assertThat(pushes.getValue()).singleElement().satisfies(push -> {
+            assertThat(push.fcmToken()).isEqualTo("token-a");
+            assertThat(push.notificationIds()).containsExactly(saved.getValue().get(0).getId());
+        });
+        verify(unreadCounterService).added(Map.of(withToken.getId(), 1L));
+    }
+
+    @Test
+    @DisplayName("should store notifications but skip pushes for users without an FCM token")
+    void shouldSkipPushForUsersWithoutToken() {
+        List<NotificationOutbox> batch = List.of(entry(withToken, "A"), entry(withoutToken, "B"));
+        when(outboxRepository.findBatchForUpdate(any())).thenReturn(batch, List.of());
+        stubUsers(List.of(new UserFcmToken(withToken.getId(), "token-a")));
+
+        dispatcher.drain();
+
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Notification::getUser).containsExactly(withToken, withoutToken);
+
+        ArgumentCaptor<List<PushMessage>> pushes = ArgumentCaptor.forClass(List.class);
+        verify(pushDispatcher).enqueue(pushes.capture());
+        assertThat(pushes.getValue()).extracting(PushMessage::userId).containsExactly(withToken.getId());
+
+        ArgumentCaptor<List<RealtimeEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher).publish(events.capture());
+        assertThat(events.getValue()).extracting(RealtimeEvent::userId)
+                .containsExactly(withToken.getId(), withoutToken.getId());
+    }
+
+    @Test
+    @DisplayName("should keep draining while batches come back full")
+    void shouldDrainUntilBatchIsNotFull() {
+        when(outboxRepository.findBatchForUpdate(any())).thenReturn(
+                List.of(entry(withToken, "1"), entry(withToken, "2")),
+                List.of(entry(withToken, "3"), entry(withToken, "4")),
+                List.of(entry(withToken, "5")));
+        stubUsers(List.of());
+
+        dispatcher.drain();
+
+        verify(outboxRepository, times(3)).findBatchForUpdate(any());
+        verify(outboxRepository, times(3)).deleteAllInBatch(anyList());
+        verify(pushDispatcher, never()).enqueue(anyList());
+    }
+
+    @Test
+    @DisplayName("should stop after a single query when the outbox is empty")
+    void shouldStopWhenOutboxIsEmpty() {
+        when(outboxRepository.findBatchForUpdate(any())).thenReturn(List.of());
+
+        dispatcher.drain();
+
+        verify(outboxRepository).findBatchForUpdate(any());
+        verifyNoInteractions(notificationRepository, pushDispatcher, eventPublisher, unreadCounterService);
+    }
+
+    private void stubUsers(List<UserFcmToken> tokens) {
+        when(userRepository.findFcmTokensByIdIn(any())).thenReturn(tokens);
+        lenient().when(userRepository.getReferenceById(withToken.getId())).thenReturn(withToken);
+        lenient().when(userRepository.getReferenceById(withoutToken.getId())).thenReturn(withoutToken);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Notification> notifications = invocation.getArgument(0);
+            notifications.forEach(notification -> notification.setId(UUID.randomUUID()));
+            return notifications;
+        });
+    }
+
+    private static NotificationOutbox entry(User user, String title) {
+        NotificationOutbox entry = NotificationOutbox.builder()
+                .userId(user.getId())
+                .type(NotificationType.TRANSACTION_RECEIVED)
+                .title(title)
+                .body("body")
+                .data(Map.of("transactionRef", "JUF123"))
+                .referenceId("JUF123")
+                .build();
+        entry.setId(UUID.randomUUID());
+        return entry;
+    }
+}
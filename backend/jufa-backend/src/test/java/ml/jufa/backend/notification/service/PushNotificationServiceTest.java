@@ -0,0 +1,73 @@
+package ml.jufa.backend.notification.service;
+
+import ml.jufa.backend.config.TestConfig;
+import ml.jufa.backend.notification.entity.NotificationOutbox;
+import ml.jufa.backend.notification.entity.NotificationType;
+import ml.jufa.backend.notification.repository.NotificationOutboxRepository;
+import ml.jufa.backend.security.principal.UserPrincipalCache;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PushNotificationService Tests")
+class PushNotificationServiceTest {
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+    @Mock
+    private NotificationOutboxDispatcher outboxDispatcher;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
+    @InjectMocks
+    private PushNotificationService pushNotificationService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("should write an outbox entry and request a drain only after commit")
+    void shouldWriteOutboxEntryAndDrainAfterCommit() {
+        User receiver = TestConfig.createTestUser();
+        TransactionSynchronizationManager.initSynchronization();
+
+        pushNotificationService.sendTransactionReceived(receiver, new BigDecimal("2500"), "+22370000009", "JUF42");
+
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepository).save(captor.capture());
+        NotificationOutbox entry = captor.getValue();
+        assertThat(entry.getUserId()).isEqualTo(receiver.getId());
+        assertThat(entry.getType()).isEqualTo(NotificationType.TRANSACTION_RECEIVED);
+        assertThat(entry.getReferenceId()).isEqualTo("JUF42");
+        assertThat(entry.getData())
+                .containsEntry("type", "TRANSACTION_RECEIVED")
+                .containsEntry("transactionRef", "JUF42")
+                .containsEntry("amount", "2500");
+        verify(outboxDispatcher, never()).requestDrain();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(outboxDispatcher).requestDrain();
+    }
+}
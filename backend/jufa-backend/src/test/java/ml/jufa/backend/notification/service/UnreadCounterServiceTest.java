@@ -0,0 +1,126 @@
+package ml.jufa.backend.notification.service;
+
+import ml.jufa.backend.config.TestConfig;
+import ml.jufa.backend.notification.counter.InMemoryUnreadCounterStore;
+import ml.jufa.backend.notification.repository.NotificationRepository;
+import ml.jufa.backend.user.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnreadCounterService Tests")
+class UnreadCounterServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private InMemoryUnreadCounterStore counterStore;
+    private UnreadCounterService unreadCounterService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        counterStore = new InMemoryUnreadCounterStore(1000, 300);
+        unreadCounterService = new UnreadCounterService(counterStore, notificationRepository);
+        user = TestConfig.createTestUser();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("should count from the database once and serve later reads from the counter")
+    void shouldCacheCountOnMiss() {
+        when(notificationRepository.countByUserAndRead(user, false)).thenReturn(3L);
+
+        assertThat(unreadCounterService.get(user)).isEqualTo(3);
+        assertThat(unreadCounterService.get(user)).isEqualTo(3);
+
+        verify(notificationRepository, times(1)).countByUserAndRead(user, false);
+    }
+
+    @Test
+    @DisplayName("should increment the counter when notifications are added")
+    void shouldIncrementOnAdd() {
+        counterStore.set(user.getId(), 2);
+
+        unreadCounterService.added(Map.of(user.getId(), 3L));
+
+        assertThat(unreadCounterService.get(user)).isEqualTo(5);
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    @DisplayName("should decrement the counter on read without going below zero")
+    void shouldDecrementOnRead() {
+        counterStore.set(user.getId(), 1);
+
+        unreadCounterService.read(user.getId());
+        assertThat(unreadCounterService.get(user)).isZero();
+
+        unreadCounterService.read(user.getId());
+        assertThat(unreadCounterService.get(user)).isZero();
+    }
+
+    @Test
+    @DisplayName("should reset the counter when all notifications are read")
+    void shouldResetOnClear() {
+        counterStore.set(user.getId(), 7);
+
+        unreadCounterService.cleared(user.getId());
+
+        assertThat(unreadCounterService.get(user)).isZero();
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    @DisplayName("should not adjust a counter that is not cached")
+    void shouldIgnoreAdjustmentsOnMiss() {
+        unreadCounterService.added(Map.of(user.getId(), 2L));
+
+        assertThat(counterStore.get(user.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should apply counter updates only after commit")
+    void shouldDeferUpdatesUntilCommit() {
+        counterStore.set(user.getId(), 2);
+        TransactionSynchronizationManager.initSynchronization();
+
+        unreadCounterService.added(Map.of(user.getId(), 1L));
+        assertThat(counterStore.get(user.getId())).hasValue(2);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(counterStore.get(user.getId())).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("should keep an increment that lands between a miss count and its write-back")
+    void shouldNotOverwriteConcurrentIncrement() {
+        when(notificationRepository.countByUserAndRead(user, false)).thenReturn(4L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(unreadCounterService.get(user)).isEqualTo(4);
+        counterStore.set(user.getId(), 4);
+        counterStore.adjustIfPresent(user.getId(), 1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(counterStore.get(user.getId())).hasValue(5);
+    }
+}
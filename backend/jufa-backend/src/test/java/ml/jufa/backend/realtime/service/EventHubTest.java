@@ -0,0 +1,162 @@
+package ml.jufa.backend.realtime.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ml.jufa.backend.common.dto.ApiResponse;
+import ml.jufa.backend.common.exception.TooManyRequestsException;
+import ml.jufa.backend.realtime.dto.EventPollResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("EventHub Tests")
+class EventHubTest {
+
+    private static final int MAX_CONNECTIONS = 2;
+    private static final int BUFFER_SIZE = 3;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventHub eventHub;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventHub = new EventHub(meterRegistry, 60000, MAX_CONNECTIONS, BUFFER_SIZE, 120000);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("should reject connections beyond the per-user cap")
+    void shouldRejectConnectionsBeyondCap() {
+        eventHub.poll(userId, null, 60000);
+        eventHub.openStream(userId);
+
+        assertThatThrownBy(() -> eventHub.poll(userId, null, 60000))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasFieldOrPropertyWithValue("code", "JUFA-RT-001");
+        assertThat(connections()).isEqualTo(2);
+
+        eventHub.poll(UUID.randomUUID(), null, 60000);
+        assertThat(connections()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("should complete a poll with the delivered event and release its slot")
+    void shouldCompletePollOnDeliver() {
+        DeferredResult<ApiResponse<EventPollResponse>> result = eventHub.poll(userId, null, 60000);
+        RealtimeEvent event = new RealtimeEvent(userId, RealtimeEvent.NOTIFICATION, Map.of("title", "Paiement reçu"));
+
+        eventHub.deliver(event);
+
+        assertThat(result.hasResult()).isTrue();
+        assertThat(response(result).events()).containsExactly(event);
+        assertThat(response(result).gap()).isFalse();
+        assertThat(connections()).isZero();
+    }
+
+    @Test
+    @DisplayName("should return events delivered between polls as soon as the next poll arrives")
+    void shouldReturnEventsMissedBetweenPolls() {
+        DeferredResult<ApiResponse<EventPollResponse>> first = eventHub.poll(userId, null, 60000);
+        eventHub.deliver(event("first"));
+        String cursor = response(first).cursor();
+
+        eventHub.deliver(event("second"));
+        eventHub.deliver(event("third"));
+        DeferredResult<ApiResponse<EventPollResponse>> second = eventHub.poll(userId, cursor, 60000);
+
+        assertThat(second.hasResult()).isTrue();
+        assertThat(response(second).events()).extracting(RealtimeEvent::payload)
+                .containsExactly(Map.of("title", "second"), Map.of("title", "third"));
+        assertThat(response(second).gap()).isFalse();
+        assertThat(connections()).isZero();
+
+        DeferredResult<ApiResponse<EventPollResponse>> third = eventHub.poll(userId, response(second).cursor(), 60000);
+        assertThat(third.hasResult()).isFalse();
+        assertThat(connections()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should flag a gap when the cursor fell out of the buffer")
+    void shouldFlagGapWhenCursorWasEvicted() {
+        DeferredResult<ApiResponse<EventPollResponse>> first = eventHub.poll(userId, null, 60000);
+        eventHub.deliver(event("first"));
+        String cursor = response(first).cursor();
+
+        for (int i = 0; i < BUFFER_SIZE + 1; i++) {
+            eventHub.deliver(event("missed-" + i));
+        }
+        DeferredResult<ApiResponse<EventPollResponse>> second = eventHub.poll(userId, cursor, 60000);
+
+        assertThat(second.hasResult()).isTrue();
+        assertThat(response(second).gap()).isTrue();
+        assertThat(response(second).events()).hasSize(BUFFER_SIZE);
+    }
+
+    @Test
+    @DisplayName("should flag a gap for a cursor issued by another buffer")
+    void shouldFlagGapForUnknownCursor() {
+        DeferredResult<ApiResponse<EventPollResponse>> result = eventHub.poll(userId, "42:7", 60000);
+        assertThat(result.hasResult()).isFalse();
+
+        eventHub.deliver(event("first"));
+
+        assertThat(response(result).gap()).isTrue();
+        assertThat(response(result).events()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should not deliver events to other users")
+    void shouldNotDeliverToOtherUsers() {
+        DeferredResult<ApiResponse<EventPollResponse>> result = eventHub.poll(userId, null, 60000);
+
+        eventHub.deliver(new RealtimeEvent(UUID.randomUUID(), RealtimeEvent.NOTIFICATION, Map.of()));
+
+        assertThat(result.hasResult()).isFalse();
+        assertThat(connections()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should unregister a stream whose send fails")
+    void shouldUnregisterStreamOnSendFailure() {
+        SseEmitter emitter = eventHub.openStream(userId);
+        eventHub.openStream(userId);
+        emitter.complete();
+
+        eventHub.deliver(new RealtimeEvent(userId, RealtimeEvent.WALLET_BALANCE, Map.of()));
+
+        assertThat(connections()).isEqualTo(1);
+        assertThatCode(() -> eventHub.openStream(userId)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("should unregister a stream whose heartbeat fails")
+    void shouldUnregisterStreamOnHeartbeatFailure() {
+        SseEmitter emitter = eventHub.openStream(userId);
+        emitter.complete();
+
+        eventHub.heartbeat();
+
+        assertThat(connections()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EventPollResponse response(DeferredResult<ApiResponse<EventPollResponse>> result) {
+        return ((ApiResponse<EventPollResponse>) result.getResult()).getData();
+    }
+
+    private RealtimeEvent event(String title) {
+        return new RealtimeEvent(userId, RealtimeEvent.NOTIFICATION, Map.of("title", title));
+    }
+
+    private double connections() {
+        return meterRegistry.get("jufa.realtime.connections").gauge().value();
+    }
+}
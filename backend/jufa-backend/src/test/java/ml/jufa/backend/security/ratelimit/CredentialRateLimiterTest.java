@@ -0,0 +1,26 @@
+package ml.jufa.backend.security.ratelimit;
+
+import ml.jufa.backend.common.exception.TooManyRequestsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CredentialRateLimiter Tests")
+class CredentialRateLimiterTest {
+
+    @Test
+    @DisplayName("should reject a phone once its budget is spent")
+    void shouldRejectPhoneOverBudget() {
+        CredentialRateLimiter limiter = new CredentialRateLimiter(3, 30, 100);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.check("+22370000001");
+        }
+
+        assertThatThrownBy(() -> limiter.check("+22370000001"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasFieldOrPropertyWithValue("code", "JUFA-AUTH-008");
+        assertThatCode(() -> limiter.check("+22370000002")).doesNotThrowAnyException();
+    }
+}
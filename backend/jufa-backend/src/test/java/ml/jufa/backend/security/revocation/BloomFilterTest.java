@@ -0,0 +1,46 @@
+package ml.jufa.backend.security.revocation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("should never report a false negative")
+    void shouldNotReportFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        List<String> tokenIds = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String tokenId = UUID.randomUUID().toString();
+            tokenIds.add(tokenId);
+            filter.put(tokenId);
+        }
+
+        assertThat(tokenIds).allMatch(filter::mightContain);
+    }
+
+    @Test
+    @DisplayName("should keep false positives close to the configured rate")
+    void shouldBoundFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        long falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(500);
+    }
+}
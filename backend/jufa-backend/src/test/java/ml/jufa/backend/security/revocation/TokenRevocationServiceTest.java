@@ -0,0 +1,93 @@
+package ml.jufa.backend.security.revocation;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService Tests")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private TokenRevocationRepository revocationRepository;
+
+    private TokenRevocationService revocationService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        revocationService = new TokenRevocationService(revocationRepository, 0.001, 604800000L);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("should revoke every token of a user issued before the status change")
+    void shouldRevokeTokensIssuedBeforeUserRevocation() {
+        when(revocationRepository.findByTokenId("user:" + userId)).thenReturn(Optional.empty());
+
+        revocationService.revokeUser(userId);
+
+        ArgumentCaptor<TokenRevocation> saved = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(revocationRepository).save(saved.capture());
+        when(revocationRepository.findByTokenIdAndExpiresAtAfter(eq("user:" + userId), any()))
+                .thenReturn(Optional.of(saved.getValue()));
+
+        LocalDateTime cutoff = saved.getValue().getIssuedBefore();
+        assertThat(revocationService.isRevoked(claims(cutoff.minusMinutes(5)))).isTrue();
+        assertThat(revocationService.isRevoked(claims(cutoff))).isTrue();
+        assertThat(revocationService.isRevoked(claims(cutoff.plusSeconds(1)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should move the cutoff forward when a user is revoked again")
+    void shouldMoveCutoffOnRepeatedRevocation() {
+        TokenRevocation existing = TokenRevocation.builder()
+                .tokenId("user:" + userId)
+                .issuedBefore(LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS))
+                .expiresAt(LocalDateTime.now().plusDays(6))
+                .build();
+        when(revocationRepository.findByTokenId("user:" + userId)).thenReturn(Optional.of(existing));
+
+        revocationService.revokeUser(userId);
+
+        verify(revocationRepository).save(existing);
+        assertThat(existing.getIssuedBefore()).isAfter(LocalDateTime.now().minusMinutes(1));
+        assertThat(existing.getExpiresAt()).isAfter(LocalDateTime.now().plusDays(6));
+    }
+
+    @Test
+    @DisplayName("should not query the database for users that were never revoked")
+    void shouldSkipLookupForUnknownUsers() {
+        assertThat(revocationService.isRevoked(claims(LocalDateTime.now()))).isFalse();
+
+        verify(revocationRepository, never()).findByTokenIdAndExpiresAtAfter(anyString(), any());
+        verify(revocationRepository, never()).existsByTokenIdAndExpiresAtAfter(anyString(), any());
+    }
+
+    private Claims claims(LocalDateTime issuedAt) {
+        return Jwts.claims()
+                .id(UUID.randomUUID().toString())
+                .subject(userId.toString())
+                .issuedAt(Date.from(issuedAt.atZone(ZoneId.systemDefault()).toInstant()))
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package ml.jufa.backend.transaction.repository;
+
+import ml.jufa.backend.common.id.TimeOrderedUuid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+@State(Scope.Benchmark)
+public class WalletHistoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int WALLETS = 10_000;
+
+    private static final String OR_JOIN =
+            "SELECT id, created_at FROM transactions WHERE sender_wallet_id = ? OR receiver_wallet_id = ? " +
+            "ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE;
+    private static final String SENT =
+            "SELECT id, created_at FROM transactions WHERE sender_wallet_id = ? " +
+            "ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE;
+    private static final String RECEIVED =
+            "SELECT id, created_at FROM transactions WHERE receiver_wallet_id = ? AND sender_wallet_id <> ? " +
+            "ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private Connection connection;
+    private UUID[] wallets;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("jufa.bench.url", "jdbc:h2:mem:history;DB_CLOSE_DELAY=-1");
+        connection = DriverManager.getConnection(url,
+                System.getProperty("jufa.bench.user", "sa"), System.getProperty("jufa.bench.password", ""));
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS transactions");
+            ddl.execute("CREATE TABLE transactions (id UUID PRIMARY KEY, sender_wallet_id UUID, " +
+                    "receiver_wallet_id UUID, amount NUMERIC(18, 2), created_at TIMESTAMP NOT NULL)");
+            ddl.execute("CREATE INDEX idx_transaction_sender_created ON transactions (sender_wallet_id, created_at DESC, id DESC)");
+            ddl.execute("CREATE INDEX idx_transaction_receiver_created ON transactions (receiver_wallet_id, created_at DESC, id DESC)");
+        }
+
+        wallets = new UUID[WALLETS];
+        for (int i = 0; i < WALLETS; i++) {
+            wallets[i] = UUID.randomUUID();
+        }
+        populate();
+    }
+
+    private void populate() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long start = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(365);
+        long step = Math.max(1, TimeUnit.DAYS.toMillis(365) / rows);
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO transactions (id, sender_wallet_id, receiver_wallet_id, amount, created_at) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                long createdAt = start + i * step;
+                int sender = random.nextInt(WALLETS);
+                int receiver = (sender + 1 + random.nextInt(WALLETS - 1)) % WALLETS;
+                insert.setObject(1, TimeOrderedUuid.at(createdAt));
+                insert.setObject(2, wallets[sender]);
+                insert.setObject(3, wallets[receiver]);
+                insert.setBigDecimal(4, BigDecimal.valueOf(random.nextInt(1_000, 500_000)));
+                insert.setTimestamp(5, new Timestamp(createdAt));
+                insert.addBatch();
+                if (i % 5_000 == 4_999) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+
+        try (Statement analyze = connection.createStatement()) {
+            analyze.execute(url().startsWith("jdbc:postgresql") ? "ANALYZE transactions" : "ANALYZE");
+        }
+    }
+
+    private String url() throws SQLException {
+        return connection.getMetaData().getURL();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE transactions");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<UUID> orJoin() throws SQLException {
+        UUID wallet = randomWallet();
+        try (PreparedStatement query = connection.prepareStatement(OR_JOIN)) {
+            query.setObject(1, wallet);
+            query.setObject(2, wallet);
+            return read(query).stream().map(Row::id).toList();
+        }
+    }
+
+    @Benchmark
+    public List<UUID> twoRangeScans() throws SQLException {
+        UUID wallet = randomWallet();
+        List<Row> merged = new ArrayList<>(PAGE_SIZE * 2);
+        try (PreparedStatement sent = connection.prepareStatement(SENT);
+             PreparedStatement received = connection.prepareStatement(RECEIVED)) {
+            sent.setObject(1, wallet);
+            received.setObject(1, wallet);
+            received.setObject(2, wallet);
+            merged.addAll(read(sent));
+            merged.addAll(read(received));
+        }
+        return merged.stream()
+                .sorted(Comparator.comparing(Row::createdAt).reversed())
+                .limit(PAGE_SIZE)
+                .map(Row::id)
+                .toList();
+    }
+
+    private UUID randomWallet() {
+        return wallets[ThreadLocalRandom.current().nextInt(WALLETS)];
+    }
+
+    private List<Row> read(PreparedStatement query) throws SQLException {
+        List<Row> rows = new ArrayList<>(PAGE_SIZE);
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                rows.add(new Row(resultSet.getObject(1, UUID.class), resultSet.getTimestamp(2)));
+            }
+        }
+        return rows;
+    }
+
+    private record Row(UUID id, Timestamp createdAt) {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WalletHistoryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package ml.jufa.backend.wallet.service;
+
+import ml.jufa.backend.realtime.service.RealtimeEvent;
+import ml.jufa.backend.realtime.service.RealtimeEventPublisher;
+import ml.jufa.backend.wallet.dto.WalletBalanceChanged;
+import ml.jufa.backend.wallet.repository.WalletOwner;
+import ml.jufa.backend.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WalletBalanceEvents Tests")
+class WalletBalanceEventsTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+    @Mock
+    private RealtimeEventPublisher eventPublisher;
+
+    private WalletBalanceEvents walletBalanceEvents;
+    private UUID senderWallet;
+    private UUID receiverWallet;
+    private UUID senderId;
+    private UUID receiverId;
+
+    @BeforeEach
+    void setUp() {
+        walletBalanceEvents = new WalletBalanceEvents(walletRepository, eventPublisher, 500);
+        senderWallet = UUID.randomUUID();
+        receiverWallet = UUID.randomUUID();
+        senderId = UUID.randomUUID();
+        receiverId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(walletBalanceEvents);
+        walletBalanceEvents.destroy();
+    }
+
+    @Test
+    @DisplayName("should publish once per committed transaction with owners from a single query")
+    void shouldPublishAfterCommit() {
+        when(walletRepository.findOwnersByIdIn(List.of(senderWallet, receiverWallet))).thenReturn(List.of(
+                new WalletOwner(senderWallet, senderId), new WalletOwner(receiverWallet, receiverId)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        walletBalanceEvents.changed(List.of(senderWallet));
+        walletBalanceEvents.changed(List.of(receiverWallet, senderWallet));
+
+        verifyNoInteractions(walletRepository, eventPublisher);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(eventPublisher, timeout(1000)).publish(List.of(
+                new RealtimeEvent(senderId, RealtimeEvent.WALLET_BALANCE, new WalletBalanceChanged(senderWallet)),
+                new RealtimeEvent(receiverId, RealtimeEvent.WALLET_BALANCE, new WalletBalanceChanged(receiverWallet))));
+        verify(walletRepository).findOwnersByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("should not publish when the transaction rolls back")
+    void shouldNotPublishOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        walletBalanceEvents.changed(List.of(senderWallet));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(eventPublisher, after(200).never()).publish(anyList());
+        verifyNoInteractions(walletRepository);
+    }
+
+    @Test
+    @DisplayName("should publish outside a transaction")
+    void shouldPublishWithoutTransaction() {
+        when(walletRepository.findOwnersByIdIn(List.of(senderWallet)))
+                .thenReturn(List.of(new WalletOwner(senderWallet, senderId)));
+
+        walletBalanceEvents.changed(List.of(senderWallet));
+
+        verify(eventPublisher, timeout(1000)).publish(List.of(
+                new RealtimeEvent(senderId, RealtimeEvent.WALLET_BALANCE, new WalletBalanceChanged(senderWallet))));
+    }
+}
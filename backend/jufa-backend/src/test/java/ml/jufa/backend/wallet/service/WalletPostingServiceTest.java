@@ -0,0 +1,182 @@
+package ml.jufa.backend.wallet.service;
+
+import ml.jufa.backend.common.exception.JufaException;
+import ml.jufa.backend.config.TestConfig;
+import ml.jufa.backend.user.entity.User;
+import ml.jufa.backend.wallet.entity.Wallet;
+import ml.jufa.backend.wallet.entity.WalletType;
+import ml.jufa.backend.wallet.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WalletPostingService Tests")
+class WalletPostingServiceTest {
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private WalletLockService walletLockService;
+
+    @Mock
+    private WalletShardService walletShardService;
+
+    @Mock
+    private WalletBalanceEvents walletBalanceEvents;
+
+    @InjectMocks
+    private WalletPostingService walletPostingService;
+
+    private User testUser;
+    private Wallet testWallet;
+
+    @BeforeEach
+    void setUp() {
+        testUser = TestConfig.createTestUser();
+        testWallet = TestConfig.createTestWalletWithBalance(testUser, WalletType.B2C, new BigDecimal("1000"));
+    }
+
+    @Nested
+    @DisplayName("debit")
+    class DebitTests {
+
+        @Test
+        @DisplayName("should debit with a single conditional update")
+        void shouldDebitConditionally() {
+            BigDecimal amount = new BigDecimal("400");
+            when(walletRepository.debitIfAvailable(testWallet.getId(), amount)).thenReturn(1);
+
+            walletPostingService.debit(testWallet.getId(), amount);
+
+            verify(walletLockService).lockRows(List.of(testWallet.getId()));
+            verify(walletRepository, never()).findById(any());
+            verify(walletBalanceEvents).changed(List.of(testWallet.getId()));
+        }
+
+        @Test
+        @DisplayName("should reject a debit above the available balance")
+        void shouldRejectInsufficientFunds() {
+            BigDecimal amount = new BigDecimal("1500");
+            when(walletRepository.debitIfAvailable(testWallet.getId(), amount)).thenReturn(0);
+            when(walletRepository.findById(testWallet.getId())).thenReturn(Optional.of(testWallet));
+
+            assertThatThrownBy(() -> walletPostingService.debit(testWallet.getId(), amount))
+                    .isInstanceOf(JufaException.class)
+                    .hasMessageContaining("Insufficient balance");
+
+            verify(walletShardService, never()).sweep(any());
+            verify(walletBalanceEvents, never()).changed(any());
+        }
+
+        @Test
+        @DisplayName("should reject a debit on a frozen wallet")
+        void shouldRejectInactiveWallet() {
+            testWallet.setStatus(Wallet.WalletStatus.FROZEN);
+            BigDecimal amount = new BigDecimal("100");
+            when(walletRepository.debitIfAvailable(testWallet.getId(), amount)).thenReturn(0);
+            when(walletRepository.findById(testWallet.getId())).thenReturn(Optional.of(testWallet));
+
+            assertThatThrownBy(() -> walletPostingService.debit(testWallet.getId(), amount))
+                    .isInstanceOf(JufaException.class)
+                    .hasMessageContaining("not active");
+        }
+
+        @Test
+        @DisplayName("should reject a debit on an unknown wallet")
+        void shouldRejectUnknownWallet() {
+            UUID walletId = UUID.randomUUID();
+            BigDecimal amount = new BigDecimal("100");
+            when(walletRepository.debitIfAvailable(walletId, amount)).thenReturn(0);
+            when(walletRepository.findById(walletId)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> walletPostingService.debit(walletId, amount))
+                    .isInstanceOf(JufaException.class)
+                    .hasMessageContaining("Wallet not found");
+        }
+    }
+
+    @Nested
+    @DisplayName("credit")
+    class CreditTests {
+
+        @Test
+        @DisplayName("should credit an unsharded wallet in place")
+        void shouldCreditUnshardedWallet() {
+            BigDecimal amount = new BigDecimal("250");
+            when(walletLockService.lockIfUnsharded(testWallet.getId())).thenReturn(true);
+            when(walletRepository.creditUnshardedIfActive(testWallet.getId(), amount)).thenReturn(1);
+
+            walletPostingService.credit(testWallet.getId(), amount);
+
+            verify(walletShardService, never()).credit(any(), any());
+            verify(walletBalanceEvents).changed(List.of(testWallet.getId()));
+        }
+
+        @Test
+        @DisplayName("should route a credit on a sharded wallet to one of its shards")
+        void shouldCreditShard() {
+            testWallet.setShardCount(4);
+            BigDecimal amount = new BigDecimal("250");
+            when(walletLockService.lockIfUnsharded(testWallet.getId())).thenReturn(false);
+            when(walletRepository.findById(testWallet.getId())).thenReturn(Optional.of(testWallet));
+            when(walletShardService.credit(testWallet, amount)).thenReturn(true);
+
+            walletPostingService.credit(testWallet.getId(), amount);
+
+            verify(walletRepository, never()).creditUnshardedIfActive(any(), any());
+            verify(walletRepository, never()).creditIfActive(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("post")
+    class PostTests {
+
+        @Test
+        @DisplayName("should apply postings in wallet lock order and skip zero amounts")
+        void shouldApplyPostingsInLockOrder() {
+            List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID()).stream()
+                    .sorted(WalletLockService.LOCK_ORDER)
+                    .toList();
+            UUID first = ids.get(0);
+            UUID second = ids.get(1);
+            when(walletRepository.debitIfAvailable(any(), any())).thenReturn(1);
+
+            walletPostingService.post(List.of(
+                    WalletPosting.debit(second, new BigDecimal("10")),
+                    WalletPosting.debit(first, new BigDecimal("20")),
+                    WalletPosting.debit(UUID.randomUUID(), BigDecimal.ZERO)));
+
+            InOrder inOrder = inOrder(walletLockService);
+            inOrder.verify(walletLockService).lockRows(List.of(first));
+            inOrder.verify(walletLockService).lockRows(List.of(second));
+            verify(walletRepository, times(2)).debitIfAvailable(any(), any());
+            verify(walletBalanceEvents).changed(List.of(first, second));
+        }
+
+        @Test
+        @DisplayName("should do nothing for an empty posting list")
+        void shouldIgnoreEmptyPostings() {
+            walletPostingService.post(List.of());
+
+            verifyNoInteractions(walletLockService, walletRepository, walletBalanceEvents);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ml.jufa.backend.wallet.service;
 
 import ml.jufa.backend.common.exception.JufaException;
 import ml.jufa.backend.config.TestConfig;
+import ml.jufa.backend.ledger.service.LedgerService;
 import ml.jufa.backend.user.entity.User;
 import ml.jufa.backend.wallet.dto.WalletResponse;
 import ml.jufa.backend.wallet.entity.Wallet;
@@ -32,6 +33,15 @@ class WalletServiceTest {
     @Mock
     private WalletRepository walletRepository;
 
+    @Mock
+    private WalletLockService walletLockService;
+
+    @Mock
+    private WalletShardService walletShardService;
+
+    @Mock
+    private LedgerService ledgerService;
+
     @InjectMocks
     private WalletService walletService;
 
@@ -153,8 +163,7 @@ class WalletServiceTest {
             BigDecimal creditAmount = new BigDecimal("5000");
             BigDecimal expectedBalance = testWallet.getBalance().add(creditAmount);
             
-            when(walletRepository.findWithLockById(testWallet.getId()))
-                    .thenReturn(Optional.of(testWallet));
+            when(walletLockService.lock(testWallet.getId())).thenReturn(testWallet);
             when(walletRepository.save(any(Wallet.class)))
                     .thenAnswer(inv -> inv.getArgument(0));
 
@@ -168,8 +177,7 @@ class WalletServiceTest {
         @DisplayName("should throw exception when wallet is not active")
         void shouldThrowExceptionWhenWalletNotActive() {
             testWallet.setStatus(Wallet.WalletStatus.FROZEN);
-            when(walletRepository.findWithLockById(testWallet.getId()))
-                    .thenReturn(Optional.of(testWallet));
+            when(walletLockService.lock(testWallet.getId())).thenReturn(testWallet);
 
             assertThatThrownBy(() -> walletService.creditWallet(testWallet.getId(), new BigDecimal("1000"), testUser))
                     .isInstanceOf(JufaException.class)
@@ -187,8 +195,7 @@ class WalletServiceTest {
             BigDecimal debitAmount = new BigDecimal("3000");
             BigDecimal expectedBalance = testWallet.getBalance().subtract(debitAmount);
             
-            when(walletRepository.findWithLockById(testWallet.getId()))
-                    .thenReturn(Optional.of(testWallet));
+            when(walletLockService.lock(testWallet.getId())).thenReturn(testWallet);
             when(walletRepository.save(any(Wallet.class)))
                     .thenAnswer(inv -> inv.getArgument(0));
 
@@ -202,8 +209,7 @@ class WalletServiceTest {
         void shouldThrowExceptionWhenInsufficientBalance() {
             BigDecimal debitAmount = new BigDecimal("50000");
             
-            when(walletRepository.findWithLockById(testWallet.getId()))
-                    .thenReturn(Optional.of(testWallet));
+            when(walletLockService.lock(testWallet.getId())).thenReturn(testWallet);
 
             assertThatThrownBy(() -> walletService.debitWallet(testWallet.getId(), debitAmount, testUser))
                     .isInstanceOf(JufaException.class)
@@ -215,8 +221,7 @@ class WalletServiceTest {
         void shouldThrowExceptionWhenWalletFrozen() {
             testWallet.setStatus(Wallet.WalletStatus.FROZEN);
             
-            when(walletRepository.findWithLockById(testWallet.getId()))
-                    .thenReturn(Optional.of(testWallet));
+            when(walletLockService.lock(testWallet.getId())).thenReturn(testWallet);
 
             assertThatThrownBy(() -> walletService.debitWallet(testWallet.getId(), new BigDecimal("1000"), testUser))
                     .isInstanceOf(JufaException.class)
@@ -0,0 +1,113 @@
+package ml.jufa.backend.wallet.service;
+
+import ml.jufa.backend.config.TestConfig;
+import ml.jufa.backend.wallet.entity.Wallet;
+import ml.jufa.backend.wallet.entity.WalletShard;
+import ml.jufa.backend.wallet.entity.WalletType;
+import ml.jufa.backend.wallet.repository.WalletShardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WalletShardService Tests")
+class WalletShardServiceTest {
+
+    @Mock
+    private WalletShardRepository shardRepository;
+
+    @Mock
+    private WalletLockService walletLockService;
+
+    private WalletShardService walletShardService;
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        walletShardService = new WalletShardService(shardRepository, walletLockService, 4,
+                new WalletType[] {WalletType.B2B, WalletType.COMMISSION});
+        wallet = TestConfig.createTestWallet(TestConfig.createTestMerchant(), WalletType.B2B);
+        wallet.setShardCount(4);
+    }
+
+    @Test
+    @DisplayName("should shard only the configured wallet types")
+    void shouldShardConfiguredTypes() {
+        assertThat(walletShardService.shardCountFor(WalletType.B2B)).isEqualTo(4);
+        assertThat(walletShardService.shardCountFor(WalletType.B2C)).isZero();
+        assertThat(new WalletShardService(shardRepository, walletLockService, 1, new WalletType[] {WalletType.B2B})
+                .shardCountFor(WalletType.B2B)).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("should create one shard per index for a sharded wallet")
+    void shouldCreateShards() {
+        walletShardService.createShards(wallet);
+
+        ArgumentCaptor<List<WalletShard>> shards = ArgumentCaptor.forClass(List.class);
+        verify(shardRepository).saveAll(shards.capture());
+        assertThat(shards.getValue()).extracting(WalletShard::getShardIndex).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("should not create shards for an unsharded wallet")
+    void shouldSkipUnshardedWallet() {
+        wallet.setShardCount(0);
+
+        walletShardService.createShards(wallet);
+
+        verifyNoInteractions(shardRepository);
+    }
+
+    @Test
+    @DisplayName("should lock the chosen shard before crediting it")
+    void shouldLockShardBeforeCredit() {
+        BigDecimal amount = new BigDecimal("500");
+        when(shardRepository.credit(eq(wallet.getId()), anyInt(), eq(amount))).thenReturn(1);
+
+        assertThat(walletShardService.credit(wallet, amount)).isTrue();
+
+        ArgumentCaptor<Integer> index = ArgumentCaptor.forClass(Integer.class);
+        InOrder inOrder = inOrder(walletLockService, shardRepository);
+        inOrder.verify(walletLockService).lockShard(eq(wallet.getId()), index.capture());
+        inOrder.verify(shardRepository).credit(wallet.getId(), index.getValue(), amount);
+        assertThat(index.getValue()).isBetween(0, 3);
+    }
+
+    @Test
+    @DisplayName("should move the shard total out of the shards on sweep")
+    void shouldSweepShards() {
+        when(shardRepository.sumBalanceByWalletId(wallet.getId())).thenReturn(new BigDecimal("1200"));
+
+        assertThat(walletShardService.sweep(wallet.getId())).isEqualByComparingTo("1200");
+
+        InOrder inOrder = inOrder(walletLockService, shardRepository);
+        inOrder.verify(walletLockService).lockShards(wallet.getId());
+        inOrder.verify(shardRepository).resetByWalletId(wallet.getId());
+    }
+
+    @Test
+    @DisplayName("should leave empty shards untouched on sweep")
+    void shouldNotResetEmptyShards() {
+        when(shardRepository.sumBalanceByWalletId(wallet.getId())).thenReturn(BigDecimal.ZERO);
+
+        assertThat(walletShardService.sweep(wallet.getId())).isEqualByComparingTo("0");
+
+        verify(shardRepository, never()).resetByWalletId(any());
+    }
+}
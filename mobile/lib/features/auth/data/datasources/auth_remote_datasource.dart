@@ -7,7 +7,7 @@ abstract class AuthRemoteDataSource {
   Future<AuthResponseModel> verifyOtp(String userId, String otp);
   Future<AuthResponseModel> login(String phone, String password);
   Future<AuthResponseModel> refreshToken(String refreshToken);
-  Future<void> logout();
+  Future<void> logout(String refreshToken);
 }
 
 class AuthRemoteDataSourceImpl implements AuthRemoteDataSource {
@@ -62,7 +62,10 @@ class AuthRemoteDataSourceImpl implements AuthRemoteDataSource {
   }
   
   @override
-  Future<void> logout() async {
-    await _apiClient.post(ApiConstants.authLogout);
+  Future<void> logout(String refreshToken) async {
+    await _apiClient.post(
+      ApiConstants.authLogout,
+      data: {'refreshToken': refreshToken},
+    );
   }
 }
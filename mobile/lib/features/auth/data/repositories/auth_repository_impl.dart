@@ -86,7 +86,10 @@ class AuthRepositoryImpl implements AuthRepository {
   @override
   Future<Either<Failure, void>> logout() async {
     try {
-      await _remoteDataSource.logout();
+      final refreshToken = await _storage.read(StorageKeys.refreshToken);
+      if (refreshToken != null) {
+        await _remoteDataSource.logout(refreshToken);
+      }
       await _storage.deleteAll();
       return const Right(null);
     } on ServerException catch (e) {
@@ -1,3 +1,5 @@
+import 'dart:convert';
+
 import '../../domain/entities/notification_entity.dart';
 
 class NotificationModel {
@@ -5,7 +7,7 @@ class NotificationModel {
   final String type;
   final String title;
   final String body;
-  final String? data;
+  final Map<String, String>? data;
   final bool read;
   final String? readAt;
   final String? referenceId;
@@ -29,7 +31,7 @@ class NotificationModel {
       type: json['type'],
       title: json['title'],
       body: json['body'],
-      data: json['data'],
+      data: _parseData(json['data']),
       read: json['read'] ?? false,
       readAt: json['readAt'],
       referenceId: json['referenceId'],
@@ -51,6 +53,14 @@ class NotificationModel {
     );
   }
 
+  static Map<String, String>? _parseData(dynamic data) {
+    final decoded = data is String ? jsonDecode(data) : data;
+    if (decoded is! Map) {
+      return null;
+    }
+    return decoded.map((key, value) => MapEntry(key.toString(), value.toString()));
+  }
+
   NotificationType _parseType(String type) {
     switch (type) {
       case 'TRANSACTION_RECEIVED':
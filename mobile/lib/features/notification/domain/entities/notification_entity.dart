@@ -19,7 +19,7 @@ class NotificationEntity {
   final NotificationType type;
   final String title;
   final String body;
-  final String? data;
+  final Map<String, String>? data;
   final bool read;
   final DateTime? readAt;
   final String? referenceId;